@@ -1,10 +1,19 @@
 package org.tron.core.actuator;
 
 import com.google.protobuf.Any;
+import java.util.Arrays;
+import org.tron.common.utils.Commons;
 import org.tron.common.utils.ForkUtils;
+import org.tron.common.utils.StringUtil;
+import org.tron.core.actuator.metrics.ActuatorMetrics;
+import org.tron.core.actuator.metrics.MetricsSink.StoreOperation;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.capsule.ExchangeCapsule;
 import org.tron.core.capsule.ProtoCapsule;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.core.ITronChainBase;
+import org.tron.core.exception.BalanceInsufficientException;
 import org.tron.core.store.AccountIdIndexStore;
 import org.tron.core.store.AccountStore;
 import org.tron.core.store.AssetIssueStore;
@@ -18,11 +27,12 @@ import org.tron.core.store.ExchangeV2Store;
 import org.tron.core.store.ProposalStore;
 import org.tron.core.store.VotesStore;
 import org.tron.core.store.WitnessStore;
-import org.tron.protos.Protocol.Account;
 
 
 public abstract class AbstractActuator implements Actuator {
 
+  private static final String ACCOUNT_STORE = "account";
+
   protected Any contract;
   protected AccountStore accountStore;
   protected AccountIdIndexStore accountIdIndexStore;
@@ -38,6 +48,11 @@ public abstract class AbstractActuator implements Actuator {
   protected WitnessStore witnessStore;
   protected ProposalStore proposalStore;
   protected ForkUtils forkUtils;
+  protected UndoJournal undoJournal = UndoJournal.NONE;
+  private AccountOverlay accountOverlay;
+
+  private byte[] loadedContractAddress;
+  private ContractCapsule loadedContract;
 
   AbstractActuator(Any contract, AccountStore accountStore, DynamicPropertiesStore dynamicStore) {
     this.contract = contract;
@@ -133,6 +148,7 @@ public abstract class AbstractActuator implements Actuator {
   AbstractActuator(Any contract, AccountStore accountStore, ContractStore contractStore, DynamicPropertiesStore dynamicPropertiesStore) {
     this.contract = contract;
     this.accountStore = accountStore;
+    this.contractStore = contractStore;
     this.dynamicStore = dynamicPropertiesStore;
   }
 
@@ -160,4 +176,158 @@ public abstract class AbstractActuator implements Actuator {
     this.witnessStore = witnessStore;
     this.forkUtils = forkUtils;
   }
+
+  /**
+   * Contracts carry their ABI, which can be large, so the capsule decoded during validate is
+   * handed to the execute call that follows on the same actuator instead of being decoded again.
+   * validate always reads the store.
+   */
+  protected ContractCapsule loadDeployedContract(byte[] contractAddress) {
+    loadedContract = contractStore.get(contractAddress);
+    loadedContractAddress = contractAddress;
+    return loadedContract;
+  }
+
+  /**
+   * For execute, which modifies the capsule: the one loaded by validate is taken over and
+   * forgotten, so it is used for exactly one execute.
+   */
+  protected ContractCapsule takeDeployedContract(byte[] contractAddress) {
+    ContractCapsule deployedContract = loadedContract;
+    boolean loaded = deployedContract != null
+        && Arrays.equals(loadedContractAddress, contractAddress);
+    loadedContract = null;
+    loadedContractAddress = null;
+    return loaded ? deployedContract : contractStore.get(contractAddress);
+  }
+
+  protected AccountCapsule getAccount(byte[] address) {
+    if (accountOverlay != null) {
+      return accountOverlay.get(address);
+    }
+    AccountCapsule account = OffHeapAccountCache.getInstance().get(accountStore, address);
+    recordAccountCall(StoreOperation.GET, account);
+    return account;
+  }
+
+  protected void putAccount(byte[] address, AccountCapsule account) {
+    if (accountOverlay != null) {
+      accountOverlay.put(address, account);
+      return;
+    }
+    undoJournal.capture(accountStore, address);
+    accountStore.put(address, account);
+    OffHeapAccountCache.getInstance().update(accountStore, address, account);
+    recordAccountCall(StoreOperation.PUT, account);
+  }
+
+  /**
+   * Report an account store call to {@link ActuatorMetrics}, with the size of the account read or
+   * written.
+   */
+  static void recordAccountCall(StoreOperation operation, AccountCapsule account) {
+    if (ActuatorMetrics.isTracking()) {
+      ActuatorMetrics.recordStoreCall(ACCOUNT_STORE, operation,
+          account == null ? 0 : account.getInstance().getSerializedSize());
+    }
+  }
+
+  /**
+   * For account writes made by chainbase helpers, which bypass {@link #putAccount}.
+   */
+  protected void invalidateCachedAccount(byte[] address) {
+    OffHeapAccountCache.getInstance().invalidate(accountStore, address);
+  }
+
+  protected void putNewAccount(byte[] address, AccountCapsule account) {
+    putAccount(address, account);
+    AccountOrdinalIndex ordinals = AccountOrdinalIndex.getInstance();
+    applyEffect(() -> ordinals.assign(address), () -> ordinals.unassign(address));
+  }
+
+  /**
+   * Update state kept outside the stores, such as the {@link VoteTally} or the proposal expiry
+   * index, registering {@code undo} to reverse it on {@link UndoJournal#rollback()}. Both are held
+   * back on a speculative thread, see {@link SpeculativeEffects}, and in a batch until the
+   * {@link AccountOverlay} is flushed.
+   */
+  protected void applyEffect(Runnable effect, Runnable undo) {
+    if (accountOverlay != null) {
+      accountOverlay.deferEffect(effect, undo);
+      return;
+    }
+    applyEffect(effect, undo, undoJournal);
+  }
+
+  static void applyEffect(Runnable effect, Runnable undo, UndoJournal undoJournal) {
+    SpeculativeEffects.apply(effect);
+    undoJournal.record(() -> SpeculativeEffects.apply(undo));
+  }
+
+  public void setUndoJournal(UndoJournal undoJournal) {
+    this.undoJournal = undoJournal == null ? UndoJournal.NONE : undoJournal;
+  }
+
+  void setAccountOverlay(AccountOverlay accountOverlay) {
+    this.accountOverlay = accountOverlay;
+  }
+
+  /**
+   * Commons.adjustBalance, reading and writing through {@link #getAccount} and
+   * {@link #putAccount}.
+   */
+  protected void adjustBalance(byte[] address, long amount) throws BalanceInsufficientException {
+    if (amount == 0) {
+      return;
+    }
+    AccountCapsule account = getAccount(address);
+    changeBalance(account, amount);
+    putAccount(address, account);
+  }
+
+  /**
+   * The in memory part of Commons.adjustBalance, with the same checks and messages.
+   */
+  static void changeBalance(AccountCapsule account, long amount)
+      throws BalanceInsufficientException {
+    long balance = account.getBalance();
+    if (amount < 0 && balance < -amount) {
+      throw new BalanceInsufficientException(
+          StringUtil.createReadableString(account.createDbKey()) + " insufficient balance");
+    }
+    account.setBalance(Math.addExact(balance, amount));
+  }
+
+  protected AccountCapsule getBlackhole() {
+    if (accountOverlay != null) {
+      return accountOverlay.get(accountOverlay.getBlackholeAddress());
+    }
+    AccountCapsule blackhole = accountStore.getBlackhole();
+    recordAccountCall(StoreOperation.GET, blackhole);
+    return blackhole;
+  }
+
+  protected void adjustBlackholeBalance(long amount) throws BalanceInsufficientException {
+    adjustBalance(accountOverlay == null ? getBlackhole().createDbKey()
+        : accountOverlay.getBlackholeAddress(), amount);
+  }
+
+  protected long getLatestBlockHeaderTimestamp() {
+    return accountOverlay == null ? dynamicStore.getLatestBlockHeaderTimestamp()
+        : accountOverlay.getLatestBlockHeaderTimestamp();
+  }
+
+  protected long getCreateNewAccountFee() {
+    return accountOverlay == null ? dynamicStore.getCreateNewAccountFeeInSystemContract()
+        : accountOverlay.getCreateNewAccountFee();
+  }
+
+  protected void putExchange(ExchangeCapsule exchangeCapsule) {
+    undoJournal.capture(exchangeV2Store, exchangeCapsule.createDbKey());
+    if (dynamicStore.getAllowSameTokenName() == 0) {
+      undoJournal.capture(exchangeStore, exchangeCapsule.createDbKey());
+    }
+    Commons.putExchangeCapsule(exchangeCapsule, dynamicStore, exchangeStore, exchangeV2Store,
+        assetIssueStore);
+  }
 }
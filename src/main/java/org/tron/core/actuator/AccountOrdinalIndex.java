@@ -0,0 +1,152 @@
+package org.tron.core.actuator;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map.Entry;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.store.AccountStore;
+
+/**
+ * Dense numbering of account addresses, so per-account state can be kept in {@link LongColumn}s
+ * and bitsets indexed by ordinal instead of maps keyed by address. Ordinals are assigned when an
+ * account is created through {@link AbstractActuator#putNewAccount} and never reused; an account
+ * of a reverted block keeps its ordinal and gets it back if it is created again. Ordinals are
+ * therefore local to a node. Assignments of a transaction rolled back through an
+ * {@link UndoJournal} are taken back, though, and those of a speculative block are only made once
+ * it is promoted, see {@link SpeculativeEffects}.
+ *
+ * <p>The index is inactive, and {@link #ordinal} answers -1, until it is built with
+ * {@link #rebuild} or restored with {@link #readFrom}. Once active, every place that creates an
+ * account outside this module has to call {@link #assign} as well.
+ */
+@Slf4j(topic = "actuator")
+public final class AccountOrdinalIndex {
+
+  private static final AccountOrdinalIndex INSTANCE = new AccountOrdinalIndex();
+
+  private AddressIntMap ordinals;
+  private Address[] addresses = new Address[0];
+  private int size;
+
+  private AccountOrdinalIndex() {
+  }
+
+  public static AccountOrdinalIndex getInstance() {
+    return INSTANCE;
+  }
+
+  public synchronized void rebuild(AccountStore accountStore) {
+    reset(1 << 16);
+    for (Entry<byte[], AccountCapsule> entry : accountStore) {
+      append(Address.of(entry.getKey()));
+    }
+    logger.info("Account ordinal index rebuilt with {} accounts", size);
+  }
+
+  public synchronized void readFrom(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    int count = data.readInt();
+    reset(count);
+    byte[] address = new byte[Address.LENGTH];
+    for (int i = 0; i < count; i++) {
+      data.readFully(address);
+      append(Address.of(address));
+    }
+  }
+
+  /**
+   * Only valid while no block is being applied.
+   */
+  public synchronized void writeTo(OutputStream out) throws IOException {
+    if (!isActive()) {
+      throw new IllegalStateException("account ordinal index is not active");
+    }
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(size);
+    for (int i = 0; i < size; i++) {
+      data.write(addresses[i].toByteArray());
+    }
+    data.flush();
+  }
+
+  public synchronized void disable() {
+    ordinals = null;
+    addresses = new Address[0];
+    size = 0;
+  }
+
+  public synchronized boolean isActive() {
+    return ordinals != null;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * @return the ordinal of {@code address}, or -1 if it has none or the index is inactive.
+   */
+  public synchronized int ordinal(byte[] address) {
+    if (ordinals == null) {
+      return -1;
+    }
+    return ordinals.get(address);
+  }
+
+  /**
+   * @return the ordinal of {@code address}, assigning the next one if it has none yet, or -1 if
+   * the index is inactive.
+   */
+  public synchronized int assign(byte[] address) {
+    if (ordinals == null) {
+      return -1;
+    }
+    int ordinal = ordinals.get(address);
+    return ordinal >= 0 ? ordinal : append(Address.of(address));
+  }
+
+  /**
+   * Take back the ordinal of {@code address} if it is the last one assigned, undoing
+   * {@link #assign} for a transaction that is rolled back. Undos run in reverse order, so an
+   * ordinal the transaction assigned is the last one by then.
+   */
+  public synchronized void unassign(byte[] address) {
+    if (ordinals == null || size == 0) {
+      return;
+    }
+    int ordinal = ordinals.get(address);
+    if (ordinal >= 0 && ordinal == size - 1) {
+      ordinals.remove(addresses[ordinal]);
+      addresses[ordinal] = null;
+      size--;
+    }
+  }
+
+  public synchronized Address address(int ordinal) {
+    if (ordinal < 0 || ordinal >= size) {
+      throw new IndexOutOfBoundsException("no account with ordinal " + ordinal);
+    }
+    return addresses[ordinal];
+  }
+
+  private void reset(int expected) {
+    ordinals = new AddressIntMap(expected, -1);
+    addresses = new Address[Math.max(expected, 16)];
+    size = 0;
+  }
+
+  private int append(Address address) {
+    if (size == addresses.length) {
+      addresses = Arrays.copyOf(addresses, size * 2);
+    }
+    int ordinal = size++;
+    addresses[ordinal] = address;
+    ordinals.put(address, ordinal);
+    return ordinal;
+  }
+}
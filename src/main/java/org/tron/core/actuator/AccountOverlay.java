@@ -0,0 +1,83 @@
+package org.tron.core.actuator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.tron.core.actuator.metrics.MetricsSink.StoreOperation;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.DynamicPropertiesStore;
+
+/**
+ * Accounts read and written by a batch of actuators. Every account is read from the store once
+ * and the same capsule is handed to every transaction of the batch, so a transaction sees the
+ * writes of the ones before it; {@link #flush} then writes each touched account once and applies
+ * the effects of the batch, such as ordinals of created accounts, after the writes. Chain
+ * parameters the batched actuators read per transaction are read once as well, they cannot
+ * change inside a batch of transfers.
+ */
+final class AccountOverlay {
+
+  private final AccountStore accountStore;
+  private final AddressMap<AccountCapsule> accounts = new AddressMap<>();
+  private final AddressSet dirty = new AddressSet();
+  private final List<Consumer<UndoJournal>> effects = new ArrayList<>();
+  private final byte[] blackholeAddress;
+  private final long latestBlockHeaderTimestamp;
+  private final long createNewAccountFee;
+
+  AccountOverlay(AccountStore accountStore, DynamicPropertiesStore dynamicStore) {
+    this.accountStore = accountStore;
+    this.blackholeAddress = accountStore.getBlackhole().createDbKey();
+    this.latestBlockHeaderTimestamp = dynamicStore.getLatestBlockHeaderTimestamp();
+    this.createNewAccountFee = dynamicStore.getCreateNewAccountFeeInSystemContract();
+  }
+
+  AccountCapsule get(byte[] address) {
+    AccountCapsule account = accounts.get(address);
+    if (account == null && !accounts.containsKey(address)) {
+      account = OffHeapAccountCache.getInstance().get(accountStore, address);
+      AbstractActuator.recordAccountCall(StoreOperation.GET, account);
+      accounts.put(address, account);
+    }
+    return account;
+  }
+
+  void put(byte[] address, AccountCapsule account) {
+    accounts.put(address, account);
+    dirty.add(address);
+  }
+
+  /**
+   * Hold back an effect until the accounts are flushed, so a batch that fails leaves no trace.
+   */
+  void deferEffect(Runnable effect, Runnable undo) {
+    effects.add(undoJournal -> AbstractActuator.applyEffect(effect, undo, undoJournal));
+  }
+
+  byte[] getBlackholeAddress() {
+    return blackholeAddress;
+  }
+
+  long getLatestBlockHeaderTimestamp() {
+    return latestBlockHeaderTimestamp;
+  }
+
+  long getCreateNewAccountFee() {
+    return createNewAccountFee;
+  }
+
+  void flush(UndoJournal undoJournal) {
+    dirty.forEach(key -> {
+      byte[] address = key.toByteArray();
+      undoJournal.capture(accountStore, address);
+      AccountCapsule account = accounts.get(key);
+      accountStore.put(address, account);
+      OffHeapAccountCache.getInstance().update(accountStore, address, account);
+      AbstractActuator.recordAccountCall(StoreOperation.PUT, account);
+    });
+    dirty.clear();
+    effects.forEach(effect -> effect.accept(undoJournal));
+    effects.clear();
+  }
+}
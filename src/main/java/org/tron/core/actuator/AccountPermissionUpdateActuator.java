@@ -1,11 +1,13 @@
 package org.tron.core.actuator;
 
-import static java.util.stream.Collectors.toList;
-
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.tron.common.utils.Commons;
@@ -26,6 +28,8 @@ import org.tron.protos.Protocol.Transaction.Result.code;
 @Slf4j(topic = "actuator")
 public class AccountPermissionUpdateActuator extends AbstractActuator {
 
+  private static volatile AvailableContractTypes availableContractTypes;
+
   AccountPermissionUpdateActuator(Any contract, AccountStore accountStore, DynamicPropertiesStore dynamicPropertiesStore) {
     super(contract, accountStore, dynamicPropertiesStore);
   }
@@ -38,14 +42,14 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
       accountPermissionUpdateContract = contract.unpack(AccountPermissionUpdateContract.class);
 
       byte[] ownerAddress = accountPermissionUpdateContract.getOwnerAddress().toByteArray();
-      AccountCapsule account = accountStore.get(ownerAddress);
+      AccountCapsule account = getAccount(ownerAddress);
       account.updatePermissions(accountPermissionUpdateContract.getOwner(),
           accountPermissionUpdateContract.getWitness(),
           accountPermissionUpdateContract.getActivesList());
-      accountStore.put(ownerAddress, account);
+      putAccount(ownerAddress, account);
 
-      Commons.adjustBalance(accountStore, ownerAddress, -fee);
-      Commons.adjustBalance(accountStore, accountStore.getBlackhole().createDbKey(), fee);
+      adjustBalance(ownerAddress, -fee);
+      adjustBlackholeBalance(fee);
 
       result.setStatus(fee, code.SUCESS);
     } catch (BalanceInsufficientException e) {
@@ -61,7 +65,8 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
     return true;
   }
 
-  private boolean checkPermission(Permission permission) throws ContractValidateException {
+  private boolean checkPermission(Permission permission, BitSet availableTypes)
+      throws ContractValidateException {
     if (permission.getKeysCount() > dynamicStore.getTotalSignNum()) {
       throw new ContractValidateException("number of keys in permission should not be greater "
           + "than " + dynamicStore.getTotalSignNum());
@@ -85,14 +90,12 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
     }
 
     long weightSum = 0;
-    List<ByteString> addressList = permission.getKeysList()
-        .stream()
-        .map(x -> x.getAddress())
-        .distinct()
-        .collect(toList());
-    if (addressList.size() != permission.getKeysList().size()) {
-      throw new ContractValidateException(
-          "address should be distinct in permission " + permission.getType());
+    Set<ByteString> addressSet = new HashSet<>(permission.getKeysCount() * 2);
+    for (Key key : permission.getKeysList()) {
+      if (!addressSet.add(key.getAddress())) {
+        throw new ContractValidateException(
+            "address should be distinct in permission " + permission.getType());
+      }
     }
     for (Key key : permission.getKeysList()) {
       if (!Commons.addressValid(key.getAddress().toByteArray())) {
@@ -126,17 +129,25 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
       throw new ContractValidateException("operations size must 32");
     }
 
-    byte[] types1 = dynamicStore.getAvailableContractType();
-    for (int i = 0; i < 256; i++) {
-      boolean b = (operations.byteAt(i / 8) & (1 << (i % 8))) != 0;
-      boolean t = ((types1[(i / 8)] & 0xff) & (1 << (i % 8))) != 0;
-      if (b && !t) {
-        throw new ContractValidateException(i + " isn't a validate ContractType");
-      }
+    BitSet unavailable = BitSet.valueOf(operations.asReadOnlyByteBuffer());
+    unavailable.andNot(availableTypes);
+    if (!unavailable.isEmpty()) {
+      throw new ContractValidateException(
+          unavailable.nextSetBit(0) + " isn't a validate ContractType");
     }
     return true;
   }
 
+  private BitSet getAvailableContractTypes() {
+    byte[] types = dynamicStore.getAvailableContractType();
+    AvailableContractTypes current = availableContractTypes;
+    if (current == null || !Arrays.equals(current.types, types)) {
+      current = new AvailableContractTypes(types);
+      availableContractTypes = current;
+    }
+    return current.typeSet;
+  }
+
   @Override
   public boolean validate() throws ContractValidateException {
     if (this.contract == null) {
@@ -166,7 +177,7 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
     if (!Commons.addressValid(ownerAddress)) {
       throw new ContractValidateException("invalidate ownerAddress");
     }
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       throw new ContractValidateException("ownerAddress account does not exist");
     }
@@ -196,17 +207,18 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
     Permission witness = accountPermissionUpdateContract.getWitness();
     List<Permission> actives = accountPermissionUpdateContract.getActivesList();
 
+    BitSet availableTypes = getAvailableContractTypes();
     if (owner.getType() != PermissionType.Owner) {
       throw new ContractValidateException("owner permission type is error");
     }
-    if (!checkPermission(owner)) {
+    if (!checkPermission(owner, availableTypes)) {
       return false;
     }
     if (accountCapsule.getIsWitness()) {
       if (witness.getType() != PermissionType.Witness) {
         throw new ContractValidateException("witness permission type is error");
       }
-      if (!checkPermission(witness)) {
+      if (!checkPermission(witness, availableTypes)) {
         return false;
       }
     }
@@ -214,7 +226,7 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
       if (permission.getType() != PermissionType.Active) {
         throw new ContractValidateException("active permission type is error");
       }
-      if (!checkPermission(permission)) {
+      if (!checkPermission(permission, availableTypes)) {
         return false;
       }
     }
@@ -230,4 +242,15 @@ public class AccountPermissionUpdateActuator extends AbstractActuator {
   public long calcFee() {
     return dynamicStore.getUpdateAccountPermissionFee();
   }
+
+  private static final class AvailableContractTypes {
+
+    private final byte[] types;
+    private final BitSet typeSet;
+
+    private AvailableContractTypes(byte[] types) {
+      this.types = types;
+      this.typeSet = BitSet.valueOf(types);
+    }
+  }
 }
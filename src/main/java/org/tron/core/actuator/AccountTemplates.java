@@ -0,0 +1,111 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.store.AssetIssueStore;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Contract.AccountCreateContract;
+import org.tron.protos.Protocol.Account;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Permission;
+
+/**
+ * Prototypes for accounts created with the default owner/active permissions. The prototype is
+ * built once through the regular {@link AccountCapsule} constructor for a placeholder address
+ * and reused until the contract type parameters it was built from change; new accounts are
+ * copies with only the address, create time and type replaced.
+ */
+final class AccountTemplates {
+
+  private static final ByteString PLACEHOLDER_ADDRESS = ByteString.copyFrom(new byte[21]);
+
+  private static volatile Template normalTemplate;
+  private static volatile Template createContractTemplate;
+
+  private AccountTemplates() {
+  }
+
+  static AccountCapsule newNormalAccount(ByteString address, long createTime,
+      DynamicPropertiesStore dynamicStore, AssetIssueStore assetIssueStore) {
+    if (dynamicStore.getAllowMultiSign() != 1) {
+      return new AccountCapsule(address, AccountType.Normal, createTime, false, dynamicStore,
+          assetIssueStore);
+    }
+
+    byte[] activeDefaultOperations = dynamicStore.getActiveDefaultOperations();
+    byte[] availableContractType = dynamicStore.getAvailableContractType();
+    Template template = normalTemplate;
+    if (template == null || !template.matches(activeDefaultOperations, availableContractType)) {
+      template = new Template(activeDefaultOperations, availableContractType,
+          new AccountCapsule(PLACEHOLDER_ADDRESS, AccountType.Normal, 0L, true, dynamicStore,
+              assetIssueStore).getInstance());
+      normalTemplate = template;
+    }
+    return new AccountCapsule(template.copy(address, createTime).build());
+  }
+
+  static AccountCapsule newAccount(AccountCreateContract contract, long createTime,
+      DynamicPropertiesStore dynamicStore) {
+    if (dynamicStore.getAllowMultiSign() != 1) {
+      return new AccountCapsule(contract, createTime, false, dynamicStore);
+    }
+
+    byte[] activeDefaultOperations = dynamicStore.getActiveDefaultOperations();
+    byte[] availableContractType = dynamicStore.getAvailableContractType();
+    Template template = createContractTemplate;
+    if (template == null || !template.matches(activeDefaultOperations, availableContractType)) {
+      AccountCreateContract placeholder = AccountCreateContract.newBuilder()
+          .setAccountAddress(PLACEHOLDER_ADDRESS)
+          .build();
+      template = new Template(activeDefaultOperations, availableContractType,
+          new AccountCapsule(placeholder, 0L, true, dynamicStore).getInstance());
+      createContractTemplate = template;
+    }
+    return new AccountCapsule(template.copy(contract.getAccountAddress(), createTime)
+        .setTypeValue(contract.getTypeValue())
+        .build());
+  }
+
+  private static final class Template {
+
+    private final byte[] activeDefaultOperations;
+    private final byte[] availableContractType;
+    private final Account account;
+
+    private Template(byte[] activeDefaultOperations, byte[] availableContractType,
+        Account account) {
+      this.activeDefaultOperations = activeDefaultOperations;
+      this.availableContractType = availableContractType;
+      this.account = account;
+    }
+
+    private boolean matches(byte[] activeDefaultOperations, byte[] availableContractType) {
+      return Arrays.equals(this.activeDefaultOperations, activeDefaultOperations)
+          && Arrays.equals(this.availableContractType, availableContractType);
+    }
+
+    private Account.Builder copy(ByteString address, long createTime) {
+      Account.Builder builder = account.toBuilder()
+          .setAddress(address)
+          .setCreateTime(createTime);
+      if (account.hasOwnerPermission()) {
+        builder.setOwnerPermission(withAddress(account.getOwnerPermission(), address));
+      }
+      for (int i = 0; i < account.getActivePermissionCount(); i++) {
+        builder.setActivePermission(i, withAddress(account.getActivePermission(i), address));
+      }
+      return builder;
+    }
+
+    private static Permission withAddress(Permission permission, ByteString address) {
+      Permission.Builder builder = permission.toBuilder();
+      for (int i = 0; i < permission.getKeysCount(); i++) {
+        if (PLACEHOLDER_ADDRESS.equals(permission.getKeys(i).getAddress())) {
+          builder.setKeys(i, permission.getKeys(i).toBuilder().setAddress(address));
+        }
+      }
+      return builder.build();
+    }
+  }
+}
@@ -6,4 +6,7 @@ public class ActuatorConstant {
   public static final String WITNESS_EXCEPTION_STR = "Witness[";
   public static final String PROPOSAL_EXCEPTION_STR = "Proposal[";
   public static final String NOT_EXIST_STR = "] not exists";
+
+  // the token id of TRX in exchanges; only compared against, never handed out
+  static final byte[] TRX_SYMBOL_BYTES = "_".getBytes();
 }
@@ -0,0 +1,114 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import org.tron.common.utils.StringUtil;
+
+/**
+ * A 21 byte account address packed into primitive fields, the prefix byte, two longs and an int,
+ * with its hash computed once. Equality and hashing never touch an array, and
+ * {@link AddressMap} stores the same fields inline, so neither needs the address bytes.
+ */
+public final class Address {
+
+  public static final int LENGTH = 21;
+
+  final byte prefix;
+  final long high;
+  final long low;
+  final int tail;
+  private final int hash;
+
+  Address(byte prefix, long high, long low, int tail) {
+    this.prefix = prefix;
+    this.high = high;
+    this.low = low;
+    this.tail = tail;
+    this.hash = hash(prefix, high, low, tail);
+  }
+
+  public static Address of(byte[] address) {
+    checkLength(address);
+    return new Address(address[0], readLong(address, 1), readLong(address, 9),
+        readInt(address, 17));
+  }
+
+  public static Address of(ByteString address) {
+    return of(address.toByteArray());
+  }
+
+  public byte[] toByteArray() {
+    byte[] address = new byte[LENGTH];
+    address[0] = prefix;
+    writeLong(address, 1, high);
+    writeLong(address, 9, low);
+    writeInt(address, 17, tail);
+    return address;
+  }
+
+  public ByteString toByteString() {
+    return ByteString.copyFrom(toByteArray());
+  }
+
+  public boolean matches(byte[] address) {
+    return address.length == LENGTH && address[0] == prefix && readLong(address, 1) == high
+        && readLong(address, 9) == low && readInt(address, 17) == tail;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Address)) {
+      return false;
+    }
+    Address that = (Address) o;
+    return hash == that.hash && prefix == that.prefix && high == that.high && low == that.low
+        && tail == that.tail;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return StringUtil.createReadableString(toByteArray());
+  }
+
+  static int hash(byte prefix, long high, long low, int tail) {
+    // the last 20 bytes of an address are a hash already, mixing them is enough
+    long h = high * 0x9E3779B97F4A7C15L ^ low ^ ((long) tail << 8 | prefix & 0xFF);
+    h *= 0xC2B2AE3D27D4EB4FL;
+    return (int) (h ^ h >>> 32);
+  }
+
+  static void checkLength(byte[] address) {
+    if (address.length != LENGTH) {
+      throw new IllegalArgumentException(
+          "address must be " + LENGTH + " bytes, got " + address.length);
+    }
+  }
+
+  static long readLong(byte[] bytes, int offset) {
+    return (long) readInt(bytes, offset) << 32 | readInt(bytes, offset + 4) & 0xFFFFFFFFL;
+  }
+
+  static int readInt(byte[] bytes, int offset) {
+    return bytes[offset] << 24 | (bytes[offset + 1] & 0xFF) << 16
+        | (bytes[offset + 2] & 0xFF) << 8 | bytes[offset + 3] & 0xFF;
+  }
+
+  private static void writeLong(byte[] bytes, int offset, long value) {
+    writeInt(bytes, offset, (int) (value >>> 32));
+    writeInt(bytes, offset + 4, (int) value);
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+}
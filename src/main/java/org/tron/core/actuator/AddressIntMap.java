@@ -0,0 +1,175 @@
+package org.tron.core.actuator;
+
+import java.util.Arrays;
+
+/**
+ * {@link AddressMap} with primitive int values, for indexes such as the account ordinals where a
+ * boxed value per entry would double the memory of the map. Lookups of a missing address answer
+ * the {@code missingValue} given at construction. Same layout, sizing and deletion as
+ * {@link AddressMap}; not thread safe.
+ */
+public final class AddressIntMap {
+
+  private final int missingValue;
+  private boolean[] used;
+  private byte[] prefixes;
+  private long[] highs;
+  private long[] lows;
+  private int[] tails;
+  private int[] values;
+  private int size;
+
+  public AddressIntMap(int expectedSize, int missingValue) {
+    this.missingValue = missingValue;
+    allocate(AddressMap.tableSizeFor(expectedSize));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean containsKey(byte[] address) {
+    Address.checkLength(address);
+    return indexOf(address[0], Address.readLong(address, 1), Address.readLong(address, 9),
+        Address.readInt(address, 17)) >= 0;
+  }
+
+  public boolean containsKey(Address address) {
+    return indexOf(address.prefix, address.high, address.low, address.tail) >= 0;
+  }
+
+  public int get(byte[] address) {
+    Address.checkLength(address);
+    return valueAt(indexOf(address[0], Address.readLong(address, 1),
+        Address.readLong(address, 9), Address.readInt(address, 17)));
+  }
+
+  public int get(Address address) {
+    return valueAt(indexOf(address.prefix, address.high, address.low, address.tail));
+  }
+
+  /**
+   * @return the previous value, or the missing value if there was none.
+   */
+  public int put(Address address, int value) {
+    int mask = used.length - 1;
+    int i = address.hashCode() & mask;
+    while (used[i]) {
+      if (prefixes[i] == address.prefix && highs[i] == address.high && lows[i] == address.low
+          && tails[i] == address.tail) {
+        int previous = values[i];
+        values[i] = value;
+        return previous;
+      }
+      i = (i + 1) & mask;
+    }
+    if (size == AddressMap.MAX_SIZE) {
+      throw new IllegalStateException("address map cannot hold more than " + AddressMap.MAX_SIZE
+          + " entries");
+    }
+    insertAt(i, address.prefix, address.high, address.low, address.tail, value);
+    if (++size > used.length >>> 1) {
+      resize();
+    }
+    return missingValue;
+  }
+
+  /**
+   * @return the removed value, or the missing value if there was none.
+   */
+  public int remove(byte[] address) {
+    Address.checkLength(address);
+    return removeAt(indexOf(address[0], Address.readLong(address, 1),
+        Address.readLong(address, 9), Address.readInt(address, 17)));
+  }
+
+  public int remove(Address address) {
+    return removeAt(indexOf(address.prefix, address.high, address.low, address.tail));
+  }
+
+  private int removeAt(int index) {
+    if (index < 0) {
+      return missingValue;
+    }
+    int removed = values[index];
+    // backward shift deletion, see AddressMap
+    int mask = used.length - 1;
+    int free = index;
+    int i = index;
+    while (true) {
+      i = (i + 1) & mask;
+      if (!used[i]) {
+        break;
+      }
+      int home = Address.hash(prefixes[i], highs[i], lows[i], tails[i]) & mask;
+      boolean stays = free <= i ? free < home && home <= i : free < home || home <= i;
+      if (!stays) {
+        insertAt(free, prefixes[i], highs[i], lows[i], tails[i], values[i]);
+        free = i;
+      }
+    }
+    used[free] = false;
+    size--;
+    return removed;
+  }
+
+  public void clear() {
+    Arrays.fill(used, false);
+    size = 0;
+  }
+
+  private int indexOf(byte prefix, long high, long low, int tail) {
+    int mask = used.length - 1;
+    int i = Address.hash(prefix, high, low, tail) & mask;
+    while (used[i]) {
+      if (prefixes[i] == prefix && highs[i] == high && lows[i] == low && tails[i] == tail) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  private int valueAt(int index) {
+    return index < 0 ? missingValue : values[index];
+  }
+
+  private void insertAt(int i, byte prefix, long high, long low, int tail, int value) {
+    used[i] = true;
+    prefixes[i] = prefix;
+    highs[i] = high;
+    lows[i] = low;
+    tails[i] = tail;
+    values[i] = value;
+  }
+
+  private void resize() {
+    boolean[] oldUsed = used;
+    byte[] oldPrefixes = prefixes;
+    long[] oldHighs = highs;
+    long[] oldLows = lows;
+    int[] oldTails = tails;
+    int[] oldValues = values;
+    allocate(oldUsed.length << 1);
+    int mask = used.length - 1;
+    for (int j = 0; j < oldUsed.length; j++) {
+      if (oldUsed[j]) {
+        // the keys are distinct, so each goes to the first free slot of its chain
+        int i = Address.hash(oldPrefixes[j], oldHighs[j], oldLows[j], oldTails[j]) & mask;
+        while (used[i]) {
+          i = (i + 1) & mask;
+        }
+        insertAt(i, oldPrefixes[j], oldHighs[j], oldLows[j], oldTails[j], oldValues[j]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    used = new boolean[capacity];
+    prefixes = new byte[capacity];
+    highs = new long[capacity];
+    lows = new long[capacity];
+    tails = new int[capacity];
+    values = new int[capacity];
+  }
+}
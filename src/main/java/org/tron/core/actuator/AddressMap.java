@@ -0,0 +1,219 @@
+package org.tron.core.actuator;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Open addressing hash map keyed by 21 byte addresses. The address fields are kept in parallel
+ * primitive arrays next to the values, so there is no node or key object per entry, and lookups
+ * by {@code byte[]} do not allocate at all. Null values are allowed, e.g. to remember that an
+ * account does not exist. Not thread safe; meant for block scoped caches and write buffers. The
+ * table is kept at most half full and has at most 2^30 slots, so it holds up to 2^29 entries.
+ */
+public final class AddressMap<V> {
+
+  static final int MIN_CAPACITY = 16;
+  static final int MAX_SIZE = 1 << 29;
+
+  private boolean[] used;
+  private byte[] prefixes;
+  private long[] highs;
+  private long[] lows;
+  private int[] tails;
+  private Object[] values;
+  private int size;
+
+  public AddressMap() {
+    this(MIN_CAPACITY);
+  }
+
+  public AddressMap(int expectedSize) {
+    allocate(tableSizeFor(expectedSize));
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey(byte[] address) {
+    Address.checkLength(address);
+    return indexOf(address[0], Address.readLong(address, 1), Address.readLong(address, 9),
+        Address.readInt(address, 17)) >= 0;
+  }
+
+  public boolean containsKey(Address address) {
+    return indexOf(address.prefix, address.high, address.low, address.tail) >= 0;
+  }
+
+  public V get(byte[] address) {
+    Address.checkLength(address);
+    return valueAt(indexOf(address[0], Address.readLong(address, 1),
+        Address.readLong(address, 9), Address.readInt(address, 17)));
+  }
+
+  public V get(Address address) {
+    return valueAt(indexOf(address.prefix, address.high, address.low, address.tail));
+  }
+
+  /**
+   * @return the previous value, null if there was none or it was null.
+   */
+  public V put(byte[] address, V value) {
+    Address.checkLength(address);
+    return put(address[0], Address.readLong(address, 1), Address.readLong(address, 9),
+        Address.readInt(address, 17), value);
+  }
+
+  public V put(Address address, V value) {
+    return put(address.prefix, address.high, address.low, address.tail, value);
+  }
+
+  /**
+   * @return the removed value, null if there was none or it was null.
+   */
+  public V remove(byte[] address) {
+    Address.checkLength(address);
+    return removeAt(indexOf(address[0], Address.readLong(address, 1),
+        Address.readLong(address, 9), Address.readInt(address, 17)));
+  }
+
+  public V remove(Address address) {
+    return removeAt(indexOf(address.prefix, address.high, address.low, address.tail));
+  }
+
+  public void forEach(BiConsumer<Address, ? super V> action) {
+    for (int i = 0; i < used.length; i++) {
+      if (used[i]) {
+        action.accept(new Address(prefixes[i], highs[i], lows[i], tails[i]), valueAt(i));
+      }
+    }
+  }
+
+  public void clear() {
+    Arrays.fill(used, false);
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  private V put(byte prefix, long high, long low, int tail, V value) {
+    int mask = used.length - 1;
+    int i = Address.hash(prefix, high, low, tail) & mask;
+    while (used[i]) {
+      if (prefixes[i] == prefix && highs[i] == high && lows[i] == low && tails[i] == tail) {
+        V previous = valueAt(i);
+        values[i] = value;
+        return previous;
+      }
+      i = (i + 1) & mask;
+    }
+    if (size == MAX_SIZE) {
+      throw new IllegalStateException("address map cannot hold more than " + MAX_SIZE
+          + " entries");
+    }
+    used[i] = true;
+    prefixes[i] = prefix;
+    highs[i] = high;
+    lows[i] = low;
+    tails[i] = tail;
+    values[i] = value;
+    if (++size > used.length >>> 1) {
+      resize();
+    }
+    return null;
+  }
+
+  private int indexOf(byte prefix, long high, long low, int tail) {
+    int mask = used.length - 1;
+    int i = Address.hash(prefix, high, low, tail) & mask;
+    while (used[i]) {
+      if (prefixes[i] == prefix && highs[i] == high && lows[i] == low && tails[i] == tail) {
+        return i;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Linear probing deletion without tombstones: entries after the freed slot that would no
+   * longer be reachable from their home slot are shifted back into it.
+   */
+  private V removeAt(int index) {
+    if (index < 0) {
+      return null;
+    }
+    V removed = valueAt(index);
+    int mask = used.length - 1;
+    int free = index;
+    int i = index;
+    while (true) {
+      i = (i + 1) & mask;
+      if (!used[i]) {
+        break;
+      }
+      int home = Address.hash(prefixes[i], highs[i], lows[i], tails[i]) & mask;
+      // the entry at i stays if its home lies cyclically in (free, i]
+      boolean stays = free <= i ? free < home && home <= i : free < home || home <= i;
+      if (!stays) {
+        prefixes[free] = prefixes[i];
+        highs[free] = highs[i];
+        lows[free] = lows[i];
+        tails[free] = tails[i];
+        values[free] = values[i];
+        free = i;
+      }
+    }
+    used[free] = false;
+    values[free] = null;
+    size--;
+    return removed;
+  }
+
+  @SuppressWarnings("unchecked")
+  private V valueAt(int index) {
+    return index < 0 ? null : (V) values[index];
+  }
+
+  private void resize() {
+    boolean[] oldUsed = used;
+    byte[] oldPrefixes = prefixes;
+    long[] oldHighs = highs;
+    long[] oldLows = lows;
+    int[] oldTails = tails;
+    Object[] oldValues = values;
+    allocate(oldUsed.length << 1);
+    size = 0;
+    for (int i = 0; i < oldUsed.length; i++) {
+      if (oldUsed[i]) {
+        @SuppressWarnings("unchecked")
+        V value = (V) oldValues[i];
+        put(oldPrefixes[i], oldHighs[i], oldLows[i], oldTails[i], value);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    used = new boolean[capacity];
+    prefixes = new byte[capacity];
+    highs = new long[capacity];
+    lows = new long[capacity];
+    tails = new int[capacity];
+    values = new Object[capacity];
+  }
+
+  static int tableSizeFor(int expectedSize) {
+    if (expectedSize > MAX_SIZE) {
+      throw new IllegalArgumentException("expected size " + expectedSize + " exceeds the maximum "
+          + MAX_SIZE);
+    }
+    int capacity = MIN_CAPACITY;
+    while (capacity >>> 1 < expectedSize) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+}
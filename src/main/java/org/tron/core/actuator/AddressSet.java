@@ -0,0 +1,50 @@
+package org.tron.core.actuator;
+
+import java.util.function.Consumer;
+
+/**
+ * Set of 21 byte addresses on top of {@link AddressMap}, with the same inline storage.
+ */
+public final class AddressSet {
+
+  private final AddressMap<Boolean> map;
+
+  public AddressSet() {
+    this.map = new AddressMap<>();
+  }
+
+  public AddressSet(int expectedSize) {
+    this.map = new AddressMap<>(expectedSize);
+  }
+
+  /**
+   * @return true if the address was not in the set yet.
+   */
+  public boolean add(byte[] address) {
+    return map.put(address, Boolean.TRUE) == null;
+  }
+
+  public boolean add(Address address) {
+    return map.put(address, Boolean.TRUE) == null;
+  }
+
+  public boolean contains(byte[] address) {
+    return map.containsKey(address);
+  }
+
+  public boolean contains(Address address) {
+    return map.containsKey(address);
+  }
+
+  public int size() {
+    return map.size();
+  }
+
+  public void forEach(Consumer<Address> action) {
+    map.forEach((address, present) -> action.accept(address));
+  }
+
+  public void clear() {
+    map.clear();
+  }
+}
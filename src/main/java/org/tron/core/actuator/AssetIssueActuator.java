@@ -54,7 +54,6 @@ public class AssetIssueActuator extends AbstractActuator {
       AssetIssueContract assetIssueContract = contract.unpack(AssetIssueContract.class);
       byte[] ownerAddress = assetIssueContract.getOwnerAddress().toByteArray();
       AssetIssueCapsule assetIssueCapsule = new AssetIssueCapsule(assetIssueContract);
-      AssetIssueCapsule assetIssueCapsuleV2 = new AssetIssueCapsule(assetIssueContract);
 //      String name = new String(assetIssueCapsule.getName().toByteArray(),
 //          Charset.forName("UTF-8")); // getName().toStringUtf8()
 //      long order = 0;
@@ -68,25 +67,19 @@ public class AssetIssueActuator extends AbstractActuator {
       long tokenIdNum = dynamicStore.getTokenIdNum();
       tokenIdNum++;
       assetIssueCapsule.setId(Long.toString(tokenIdNum));
-      assetIssueCapsuleV2.setId(Long.toString(tokenIdNum));
+      long previousTokenIdNum = tokenIdNum - 1;
+      undoJournal.record(() -> dynamicStore.saveTokenIdNum(previousTokenIdNum));
       dynamicStore.saveTokenIdNum(tokenIdNum);
 
-      if (dynamicStore.getAllowSameTokenName() == 0) {
-        assetIssueCapsuleV2.setPrecision(0);
-        assetIssueStore
-            .put(assetIssueCapsule.createDbKey(), assetIssueCapsule);
-        assetIssueV2Store
-            .put(assetIssueCapsuleV2.createDbV2Key(), assetIssueCapsuleV2);
-      } else {
-        assetIssueV2Store
-            .put(assetIssueCapsuleV2.createDbV2Key(), assetIssueCapsuleV2);
-      }
+      boolean writeLegacy = LegacyStoreWriter.writeLegacy(dynamicStore);
+      LegacyStoreWriter
+          .putAssetIssue(assetIssueCapsule, writeLegacy, assetIssueStore, assetIssueV2Store,
+              undoJournal);
 
-      Commons.adjustBalance(accountStore, ownerAddress, -fee);
-      Commons.adjustBalance(accountStore, accountStore.getBlackhole().getAddress().toByteArray(),
-          fee);//send to blackhole
+      adjustBalance(ownerAddress, -fee);
+      adjustBlackholeBalance(fee);//send to blackhole
 
-      AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+      AccountCapsule accountCapsule = getAccount(ownerAddress);
       List<FrozenSupply> frozenSupplyList = assetIssueContract.getFrozenSupplyList();
       Iterator<FrozenSupply> iterator = frozenSupplyList.iterator();
       long remainSupply = assetIssueContract.getTotalSupply();
@@ -104,16 +97,16 @@ public class AssetIssueActuator extends AbstractActuator {
         remainSupply -= next.getFrozenAmount();
       }
 
-      if (dynamicStore.getAllowSameTokenName() == 0) {
+      if (writeLegacy) {
         accountCapsule.addAsset(assetIssueCapsule.createDbKey(), remainSupply);
       }
       accountCapsule.setAssetIssuedName(assetIssueCapsule.createDbKey());
       accountCapsule.setAssetIssuedID(assetIssueCapsule.createDbV2Key());
-      accountCapsule.addAssetV2(assetIssueCapsuleV2.createDbV2Key(), remainSupply);
+      accountCapsule.addAssetV2(assetIssueCapsule.createDbV2Key(), remainSupply);
       accountCapsule.setInstance(accountCapsule.getInstance().toBuilder()
           .addAllFrozenSupply(frozenList).build());
 
-     accountStore.put(ownerAddress, accountCapsule);
+      putAccount(ownerAddress, accountCapsule);
 
       ret.setAssetIssueID(Long.toString(tokenIdNum));
       ret.setStatus(fee, code.SUCESS);
@@ -268,7 +261,7 @@ public class AssetIssueActuator extends AbstractActuator {
       remainSupply -= next.getFrozenAmount();
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       throw new ContractValidateException("Account not exists");
     }
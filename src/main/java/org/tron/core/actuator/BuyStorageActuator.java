@@ -38,11 +38,13 @@ public class BuyStorageActuator extends AbstractActuator {
       throw new ContractExeException(e.getMessage());
     }
 
-    AccountCapsule accountCapsule = accountStore
-        .get(buyStorageContract.getOwnerAddress().toByteArray());
+    AccountCapsule accountCapsule = getAccount(buyStorageContract.getOwnerAddress().toByteArray());
     long quant = buyStorageContract.getQuant();
 
+    // StorageMarket writes the account and dynamic stores itself
+    undoJournal.markIncomplete();
     storageMarket.buyStorage(accountCapsule, quant);
+    invalidateCachedAccount(accountCapsule.createDbKey());
 
     ret.setStatus(fee, code.SUCESS);
 
@@ -76,7 +78,7 @@ public class BuyStorageActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid address");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
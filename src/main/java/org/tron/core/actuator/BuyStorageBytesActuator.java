@@ -38,11 +38,14 @@ public class BuyStorageBytesActuator extends AbstractActuator {
       throw new ContractExeException(e.getMessage());
     }
 
-    AccountCapsule accountCapsule = accountStore
-        .get(BuyStorageBytesContract.getOwnerAddress().toByteArray());
+    AccountCapsule accountCapsule = getAccount(
+        BuyStorageBytesContract.getOwnerAddress().toByteArray());
     long bytes = BuyStorageBytesContract.getBytes();
 
+    // StorageMarket writes the account and dynamic stores itself
+    undoJournal.markIncomplete();
     storageMarket.buyStorageBytes(accountCapsule, bytes);
+    invalidateCachedAccount(accountCapsule.createDbKey());
 
     ret.setStatus(fee, code.SUCESS);
 
@@ -76,7 +79,7 @@ public class BuyStorageBytesActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid address");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
@@ -0,0 +1,257 @@
+package org.tron.core.actuator;
+
+import static org.tron.core.config.Parameter.ChainParameters.ACCOUNT_UPGRADE_COST;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_ACCOUNT_STATE_ROOT;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_ADAPTIVE_ENERGY;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_CREATION_OF_CONTRACTS;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_DELEGATE_RESOURCE;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_MULTI_SIGN;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_PROTO_FILTER_NUM;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_SAME_TOKEN_NAME;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_SHIELDED_TRANSACTION;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_TVM_CONSTANTINOPLE;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_TVM_SOLIDITY_059;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_TVM_TRANSFER_TRC10;
+import static org.tron.core.config.Parameter.ChainParameters.ALLOW_UPDATE_ACCOUNT_NAME;
+import static org.tron.core.config.Parameter.ChainParameters.ASSET_ISSUE_FEE;
+import static org.tron.core.config.Parameter.ChainParameters.CREATE_ACCOUNT_FEE;
+import static org.tron.core.config.Parameter.ChainParameters.CREATE_NEW_ACCOUNT_BANDWIDTH_RATE;
+import static org.tron.core.config.Parameter.ChainParameters.CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT;
+import static org.tron.core.config.Parameter.ChainParameters.MAINTENANCE_TIME_INTERVAL;
+import static org.tron.core.config.Parameter.ChainParameters.MAX_CPU_TIME_OF_ONE_TX;
+import static org.tron.core.config.Parameter.ChainParameters.MULTI_SIGN_FEE;
+import static org.tron.core.config.Parameter.ChainParameters.REMOVE_THE_POWER_OF_THE_GR;
+import static org.tron.core.config.Parameter.ChainParameters.SHIELDED_TRANSACTION_FEE;
+import static org.tron.core.config.Parameter.ChainParameters.TOTAL_CURRENT_ENERGY_LIMIT;
+import static org.tron.core.config.Parameter.ChainParameters.TOTAL_ENERGY_LIMIT;
+import static org.tron.core.config.Parameter.ChainParameters.TRANSACTION_FEE;
+import static org.tron.core.config.Parameter.ChainParameters.UPDATE_ACCOUNT_PERMISSION_FEE;
+import static org.tron.core.config.Parameter.ChainParameters.WITNESS_PAY_PER_BLOCK;
+import static org.tron.core.config.Parameter.ChainParameters.WITNESS_STANDBY_ALLOWANCE;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import org.tron.common.utils.ForkUtils;
+import org.tron.core.config.Parameter.ChainParameters;
+import org.tron.core.config.Parameter.ForkBlockVersionConsts;
+import org.tron.core.config.args.Parameter.ForkBlockVersionEnum;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.store.DynamicPropertiesStore;
+
+/**
+ * Value rules of the chain parameters a proposal can change, indexed by the
+ * {@link ChainParameters#getId() id} a proposal names them by. Each rule is a list of checks run in declaration order, the
+ * first failing one decides the error message. A parameter without a rule accepts any value.
+ */
+final class ChainParameterValidator {
+
+  private static final String BAD_ID = "Bad chain parameter id";
+  private static final String FEE_RANGE =
+      "Bad chain parameter value,valid range is [0,100_000_000_000_000_000L]";
+
+  private static final ToLongFunction<DynamicPropertiesStore> REMOVE_THE_POWER_OF_THE_GR_VALUE =
+      DynamicPropertiesStore::getRemoveThePowerOfTheGr;
+  private static final ToLongFunction<DynamicPropertiesStore> ALLOW_SAME_TOKEN_NAME_VALUE =
+      DynamicPropertiesStore::getAllowSameTokenName;
+  private static final ToLongFunction<DynamicPropertiesStore> ALLOW_TVM_TRANSFER_TRC10_VALUE =
+      DynamicPropertiesStore::getAllowTvmTransferTrc10;
+  private static final ToLongFunction<DynamicPropertiesStore> ALLOW_CREATION_OF_CONTRACTS_VALUE =
+      DynamicPropertiesStore::getAllowCreationOfContracts;
+  private static final ToLongFunction<DynamicPropertiesStore> SUPPORT_SHIELDED_TRANSACTION =
+      store -> store.supportShieldedTransaction() ? 1 : 0;
+
+  private static final Check[][] RULES;
+
+  static {
+    Map<ChainParameters, List<Check>> rules = new EnumMap<>(ChainParameters.class);
+
+    rule(rules, MAINTENANCE_TIME_INTERVAL).add(range(3 * 27 * 1000, 24 * 3600 * 1000,
+        "Bad chain parameter value,valid range is [3 * 27 * 1000,24 * 3600 * 1000]"));
+    for (ChainParameters fee : new ChainParameters[]{ACCOUNT_UPGRADE_COST, CREATE_ACCOUNT_FEE,
+        TRANSACTION_FEE, ASSET_ISSUE_FEE, WITNESS_PAY_PER_BLOCK, WITNESS_STANDBY_ALLOWANCE,
+        CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT, CREATE_NEW_ACCOUNT_BANDWIDTH_RATE}) {
+      rule(rules, fee).add(range(0, 100_000_000_000_000_000L, FEE_RANGE));
+    }
+    rule(rules, ALLOW_CREATION_OF_CONTRACTS).add(onlyOne("ALLOW_CREATION_OF_CONTRACTS"));
+    rule(rules, REMOVE_THE_POWER_OF_THE_GR).add((context, value) -> {
+      if (context.get(REMOVE_THE_POWER_OF_THE_GR_VALUE) == -1) {
+        throw new ContractValidateException(
+            "This proposal has been executed before and is only allowed to be executed once");
+      }
+    });
+    rule(rules, REMOVE_THE_POWER_OF_THE_GR).add(onlyOne("REMOVE_THE_POWER_OF_THE_GR"));
+    rule(rules, MAX_CPU_TIME_OF_ONE_TX)
+        .add(range(10, 100, "Bad chain parameter value,valid range is [10,100]"));
+    rule(rules, ALLOW_UPDATE_ACCOUNT_NAME).add(onlyOne("ALLOW_UPDATE_ACCOUNT_NAME"));
+    rule(rules, ALLOW_SAME_TOKEN_NAME).add(onlyOne("ALLOW_SAME_TOKEN_NAME"));
+    rule(rules, ALLOW_DELEGATE_RESOURCE).add(onlyOne("ALLOW_DELEGATE_RESOURCE"));
+    // deprecated
+    rule(rules, TOTAL_ENERGY_LIMIT).add((context, value) -> {
+      if (!context.pass(ForkBlockVersionConsts.ENERGY_LIMIT)) {
+        throw new ContractValidateException(BAD_ID);
+      }
+      if (context.pass(ForkBlockVersionEnum.VERSION_3_2_2)) {
+        throw new ContractValidateException(BAD_ID);
+      }
+    });
+    rule(rules, TOTAL_ENERGY_LIMIT).add(range(0, 100_000_000_000_000_000L, FEE_RANGE));
+    rule(rules, ALLOW_TVM_TRANSFER_TRC10).add(onlyOne("ALLOW_TVM_TRANSFER_TRC10"));
+    rule(rules, ALLOW_TVM_TRANSFER_TRC10).add(requires(ALLOW_SAME_TOKEN_NAME_VALUE,
+        "[ALLOW_SAME_TOKEN_NAME] proposal must be approved "
+            + "before [ALLOW_TVM_TRANSFER_TRC10] can be proposed"));
+    rule(rules, TOTAL_CURRENT_ENERGY_LIMIT).add(fork(ForkBlockVersionEnum.VERSION_3_2_2, BAD_ID));
+    rule(rules, TOTAL_CURRENT_ENERGY_LIMIT).add(range(0, 100_000_000_000_000_000L, FEE_RANGE));
+    rule(rules, ALLOW_MULTI_SIGN)
+        .add(fork(ForkBlockVersionEnum.VERSION_3_5, "Bad chain parameter id: ALLOW_MULTI_SIGN"));
+    rule(rules, ALLOW_MULTI_SIGN).add(onlyOne("ALLOW_MULTI_SIGN"));
+    rule(rules, ALLOW_ADAPTIVE_ENERGY).add(
+        fork(ForkBlockVersionEnum.VERSION_3_5, "Bad chain parameter id: ALLOW_ADAPTIVE_ENERGY"));
+    rule(rules, ALLOW_ADAPTIVE_ENERGY).add(onlyOne("ALLOW_ADAPTIVE_ENERGY"));
+    rule(rules, UPDATE_ACCOUNT_PERMISSION_FEE).add(fork(ForkBlockVersionEnum.VERSION_3_5,
+        "Bad chain parameter id: UPDATE_ACCOUNT_PERMISSION_FEE"));
+    rule(rules, UPDATE_ACCOUNT_PERMISSION_FEE).add(range(0, 100_000_000_000L,
+        "Bad chain parameter value,valid range is [0,100_000_000_000L]"));
+    rule(rules, MULTI_SIGN_FEE)
+        .add(fork(ForkBlockVersionEnum.VERSION_3_5, "Bad chain parameter id: MULTI_SIGN_FEE"));
+    rule(rules, MULTI_SIGN_FEE).add(range(0, 100_000_000_000L,
+        "Bad chain parameter value,valid range is [0,100_000_000_000L]"));
+    rule(rules, ALLOW_PROTO_FILTER_NUM).add(fork(ForkBlockVersionEnum.VERSION_3_6, BAD_ID));
+    rule(rules, ALLOW_PROTO_FILTER_NUM).add(zeroOrOne("ALLOW_PROTO_FILTER_NUM"));
+    rule(rules, ALLOW_ACCOUNT_STATE_ROOT).add(fork(ForkBlockVersionEnum.VERSION_3_6, BAD_ID));
+    rule(rules, ALLOW_ACCOUNT_STATE_ROOT).add(zeroOrOne("ALLOW_ACCOUNT_STATE_ROOT"));
+    rule(rules, ALLOW_TVM_CONSTANTINOPLE).add(fork(ForkBlockVersionEnum.VERSION_3_6, BAD_ID));
+    rule(rules, ALLOW_TVM_CONSTANTINOPLE).add(onlyOne("ALLOW_TVM_CONSTANTINOPLE"));
+    rule(rules, ALLOW_TVM_CONSTANTINOPLE).add(requires(ALLOW_TVM_TRANSFER_TRC10_VALUE,
+        "[ALLOW_TVM_TRANSFER_TRC10] proposal must be approved "
+            + "before [ALLOW_TVM_CONSTANTINOPLE] can be proposed"));
+    rule(rules, ALLOW_SHIELDED_TRANSACTION).add(fork(ForkBlockVersionEnum.VERSION_4_0,
+        "Bad chain parameter id [ALLOW_SHIELDED_TRANSACTION]"));
+    rule(rules, ALLOW_SHIELDED_TRANSACTION).add(onlyOne("ALLOW_SHIELDED_TRANSACTION"));
+    rule(rules, SHIELDED_TRANSACTION_FEE).add(fork(ForkBlockVersionEnum.VERSION_4_0,
+        "Bad chain parameter id [SHIELD_TRANSACTION_FEE]"));
+    rule(rules, SHIELDED_TRANSACTION_FEE).add(requires(SUPPORT_SHIELDED_TRANSACTION,
+        "Shielded Transaction is not activated,Can't set Shielded Transaction fee"));
+    rule(rules, SHIELDED_TRANSACTION_FEE).add(range(0, 10_000_000_000L,
+        "Bad SHIELD_TRANSACTION_FEE parameter value,valid range is [0,10_000_000_000L]"));
+    rule(rules, ALLOW_TVM_SOLIDITY_059).add(fork(ForkBlockVersionEnum.VERSION_4_0, BAD_ID));
+    rule(rules, ALLOW_TVM_SOLIDITY_059).add(onlyOne("ALLOW_TVM_SOLIDITY_059"));
+    rule(rules, ALLOW_TVM_SOLIDITY_059).add(requires(ALLOW_CREATION_OF_CONTRACTS_VALUE,
+        "[ALLOW_CREATION_OF_CONTRACTS] proposal must be approved "
+            + "before [ALLOW_TVM_SOLIDITY_059] can be proposed"));
+
+    int maxId = 0;
+    for (ChainParameters parameter : ChainParameters.values()) {
+      maxId = Math.max(maxId, parameter.getId());
+    }
+    RULES = new Check[maxId + 1][];
+    for (ChainParameters parameter : ChainParameters.values()) {
+      if (RULES[parameter.getId()] != null) {
+        throw new IllegalStateException("duplicate chain parameter id " + parameter.getId());
+      }
+      RULES[parameter.getId()] = rules.getOrDefault(parameter, new ArrayList<>())
+          .toArray(new Check[0]);
+    }
+  }
+
+  private final Context context;
+
+  ChainParameterValidator(DynamicPropertiesStore dynamicStore, ForkUtils forkUtils) {
+    this.context = new Context(dynamicStore, forkUtils);
+  }
+
+  static boolean isValidKey(long key) {
+    return key >= 0 && key < RULES.length && RULES[(int) key] != null;
+  }
+
+  void validate(long key, long value) throws ContractValidateException {
+    for (Check check : RULES[(int) key]) {
+      check.check(context, value);
+    }
+  }
+
+  private static List<Check> rule(Map<ChainParameters, List<Check>> rules,
+      ChainParameters parameter) {
+    return rules.computeIfAbsent(parameter, k -> new ArrayList<>());
+  }
+
+  private static Check range(long min, long max, String message) {
+    return (context, value) -> {
+      if (value < min || value > max) {
+        throw new ContractValidateException(message);
+      }
+    };
+  }
+
+  private static Check onlyOne(String name) {
+    return (context, value) -> {
+      if (value != 1) {
+        throw new ContractValidateException(
+            "This value[" + name + "] is only allowed to be 1");
+      }
+    };
+  }
+
+  private static Check zeroOrOne(String name) {
+    return (context, value) -> {
+      if (value != 1 && value != 0) {
+        throw new ContractValidateException(
+            "This value[" + name + "] is only allowed to be 1 or 0");
+      }
+    };
+  }
+
+  private static Check fork(ForkBlockVersionEnum version, String message) {
+    return (context, value) -> {
+      if (!context.pass(version)) {
+        throw new ContractValidateException(message);
+      }
+    };
+  }
+
+  private static Check requires(ToLongFunction<DynamicPropertiesStore> parameter,
+      String message) {
+    return (context, value) -> {
+      if (context.get(parameter) == 0) {
+        throw new ContractValidateException(message);
+      }
+    };
+  }
+
+  @FunctionalInterface
+  private interface Check {
+
+    void check(Context context, long value) throws ContractValidateException;
+  }
+
+  /**
+   * Fork and dynamic property lookups of one validation, each is read at most once.
+   */
+  private static final class Context {
+
+    private final DynamicPropertiesStore dynamicStore;
+    private final ForkUtils forkUtils;
+    private final Map<Object, Boolean> passed = new HashMap<>();
+    private final Map<ToLongFunction<DynamicPropertiesStore>, Long> values = new HashMap<>();
+
+    private Context(DynamicPropertiesStore dynamicStore, ForkUtils forkUtils) {
+      this.dynamicStore = dynamicStore;
+      this.forkUtils = forkUtils;
+    }
+
+    private boolean pass(ForkBlockVersionEnum version) {
+      return passed.computeIfAbsent(version, k -> forkUtils.pass(version));
+    }
+
+    private boolean pass(int version) {
+      return passed.computeIfAbsent(version, k -> forkUtils.pass(version));
+    }
+
+    private long get(ToLongFunction<DynamicPropertiesStore> parameter) {
+      return values.computeIfAbsent(parameter, k -> parameter.applyAsLong(dynamicStore));
+    }
+  }
+}
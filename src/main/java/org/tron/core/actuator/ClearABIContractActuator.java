@@ -34,9 +34,10 @@ public class ClearABIContractActuator extends AbstractActuator {
       ClearABIContract usContract = contract.unpack(ClearABIContract.class);
 
       byte[] contractAddress = usContract.getContractAddress().toByteArray();
-      ContractCapsule deployedContract = contractStore.get(contractAddress);
+      ContractCapsule deployedContract = takeDeployedContract(contractAddress);
 
       deployedContract.clearABI();
+      undoJournal.capture(contractStore, contractAddress);
       contractStore.put(contractAddress, deployedContract);
 
       ret.setStatus(fee, code.SUCESS);
@@ -80,14 +81,14 @@ public class ClearABIContractActuator extends AbstractActuator {
     byte[] ownerAddress = contract.getOwnerAddress().toByteArray();
     String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       throw new ContractValidateException(
           "Account[" + readableOwnerAddress + "] not exists");
     }
 
     byte[] contractAddress = contract.getContractAddress().toByteArray();
-    ContractCapsule deployedContract = contractStore.get(contractAddress);
+    ContractCapsule deployedContract = loadDeployedContract(contractAddress);
 
     if (deployedContract == null) {
       throw new ContractValidateException(
@@ -29,17 +29,14 @@ public class CreateAccountActuator extends AbstractActuator {
     long fee = calcFee();
     try {
       AccountCreateContract accountCreateContract = contract.unpack(AccountCreateContract.class);
-      boolean withDefaultPermission =
-          dynamicStore.getAllowMultiSign() == 1;
-      AccountCapsule accountCapsule = new AccountCapsule(accountCreateContract,
-          dynamicStore.getLatestBlockHeaderTimestamp(), withDefaultPermission, dynamicStore);
+      AccountCapsule accountCapsule = AccountTemplates.newAccount(accountCreateContract,
+          dynamicStore.getLatestBlockHeaderTimestamp(), dynamicStore);
 
-     accountStore
-          .put(accountCreateContract.getAccountAddress().toByteArray(), accountCapsule);
+      putNewAccount(accountCreateContract.getAccountAddress().toByteArray(), accountCapsule);
 
-      Commons.adjustBalance(accountStore, accountCreateContract.getOwnerAddress().toByteArray(), -fee);
+      adjustBalance(accountCreateContract.getOwnerAddress().toByteArray(), -fee);
       // Add to blackhole address
-      Commons.adjustBalance(accountStore, accountStore.getBlackhole().createDbKey(), fee);
+      adjustBlackholeBalance(fee);
 
       ret.setStatus(fee, code.SUCESS);
     } catch (BalanceInsufficientException e) {
@@ -83,7 +80,7 @@ public class CreateAccountActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid ownerAddress");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
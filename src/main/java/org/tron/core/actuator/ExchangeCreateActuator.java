@@ -1,5 +1,7 @@
 package org.tron.core.actuator;
 
+import static org.tron.core.actuator.ActuatorConstant.TRX_SYMBOL_BYTES;
+
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -36,8 +38,8 @@ public class ExchangeCreateActuator extends AbstractActuator {
     try {
       final ExchangeCreateContract exchangeCreateContract = this.contract
           .unpack(ExchangeCreateContract.class);
-      AccountCapsule accountCapsule = accountStore
-          .get(exchangeCreateContract.getOwnerAddress().toByteArray());
+      AccountCapsule accountCapsule = getAccount(
+          exchangeCreateContract.getOwnerAddress().toByteArray());
 
       byte[] firstTokenID = exchangeCreateContract.getFirstTokenId().toByteArray();
       byte[] secondTokenID = exchangeCreateContract.getSecondTokenId().toByteArray();
@@ -48,13 +50,13 @@ public class ExchangeCreateActuator extends AbstractActuator {
 
       accountCapsule.setBalance(newBalance);
 
-      if (Arrays.equals(firstTokenID, "_".getBytes())) {
+      if (Arrays.equals(firstTokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance - firstTokenBalance);
       } else {
         accountCapsule.reduceAssetAmountV2(firstTokenID, firstTokenBalance, dynamicStore, assetIssueStore);
       }
 
-      if (Arrays.equals(secondTokenID, "_".getBytes())) {
+      if (Arrays.equals(secondTokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance - secondTokenBalance);
       } else {
         accountCapsule.reduceAssetAmountV2(secondTokenID, secondTokenBalance, dynamicStore, assetIssueStore);
@@ -62,48 +64,23 @@ public class ExchangeCreateActuator extends AbstractActuator {
 
       long id = dynamicStore.getLatestExchangeNum() + 1;
       long now = dynamicStore.getLatestBlockHeaderTimestamp();
-      if (dynamicStore.getAllowSameTokenName() == 0) {
-        //save to old asset store
-        ExchangeCapsule exchangeCapsule =
-            new ExchangeCapsule(
-                exchangeCreateContract.getOwnerAddress(),
-                id,
-                now,
-                firstTokenID,
-                secondTokenID
-            );
-        exchangeCapsule.setBalance(firstTokenBalance, secondTokenBalance);
-        exchangeStore.put(exchangeCapsule.createDbKey(), exchangeCapsule);
-
-        //save to new asset store
-        if (!Arrays.equals(firstTokenID, "_".getBytes())) {
-          String firstTokenRealID = assetIssueStore.get(firstTokenID).getId();
-          firstTokenID = firstTokenRealID.getBytes();
-        }
-        if (!Arrays.equals(secondTokenID, "_".getBytes())) {
-          String secondTokenRealID = assetIssueStore.get(secondTokenID).getId();
-          secondTokenID = secondTokenRealID.getBytes();
-        }
-      }
-
-      {
-        // only save to new asset store
-        ExchangeCapsule exchangeCapsuleV2 =
-            new ExchangeCapsule(
-                exchangeCreateContract.getOwnerAddress(),
-                id,
-                now,
-                firstTokenID,
-                secondTokenID
-            );
-        exchangeCapsuleV2.setBalance(firstTokenBalance, secondTokenBalance);
-        exchangeV2Store.put(exchangeCapsuleV2.createDbKey(), exchangeCapsuleV2);
-      }
-
-      accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+      ExchangeCapsule exchangeCapsule =
+          new ExchangeCapsule(
+              exchangeCreateContract.getOwnerAddress(),
+              id,
+              now,
+              firstTokenID,
+              secondTokenID
+          );
+      exchangeCapsule.setBalance(firstTokenBalance, secondTokenBalance);
+      LegacyStoreWriter.putNewExchange(exchangeCapsule, LegacyStoreWriter.writeLegacy(dynamicStore),
+          assetIssueStore, exchangeStore, exchangeV2Store, undoJournal);
+
+      putAccount(accountCapsule.createDbKey(), accountCapsule);
+      undoJournal.record(() -> dynamicStore.saveLatestExchangeNum(id - 1));
       dynamicStore.saveLatestExchangeNum(id);
 
-      Commons.adjustBalance(accountStore, accountStore.getBlackhole().createDbKey(), fee);
+      adjustBlackholeBalance(fee);
 
       ret.setExchangeId(id);
       ret.setStatus(fee, code.SUCESS);
@@ -150,7 +127,7 @@ public class ExchangeCreateActuator extends AbstractActuator {
       throw new ContractValidateException("accountStore[" + readableOwnerAddress + "] not exists");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
 
     if (accountCapsule.getBalance() < calcFee()) {
       throw new ContractValidateException("No enough balance for exchange create fee!");
@@ -162,10 +139,10 @@ public class ExchangeCreateActuator extends AbstractActuator {
     long secondTokenBalance = contract.getSecondTokenBalance();
 
     if (dynamicStore.getAllowSameTokenName() == 1) {
-      if (!Arrays.equals(firstTokenID, "_".getBytes()) && !TransactionUtil.isNumber(firstTokenID)) {
+      if (!Arrays.equals(firstTokenID, TRX_SYMBOL_BYTES) && !TransactionUtil.isNumber(firstTokenID)) {
         throw new ContractValidateException("first token id is not a valid number");
       }
-      if (!Arrays.equals(secondTokenID, "_".getBytes()) && !TransactionUtil
+      if (!Arrays.equals(secondTokenID, TRX_SYMBOL_BYTES) && !TransactionUtil
           .isNumber(secondTokenID)) {
         throw new ContractValidateException("second token id is not a valid number");
       }
@@ -184,7 +161,7 @@ public class ExchangeCreateActuator extends AbstractActuator {
       throw new ContractValidateException("token balance must less than " + balanceLimit);
     }
 
-    if (Arrays.equals(firstTokenID, "_".getBytes())) {
+    if (Arrays.equals(firstTokenID, TRX_SYMBOL_BYTES)) {
       if (accountCapsule.getBalance() < (firstTokenBalance + calcFee())) {
         throw new ContractValidateException("balance is not enough");
       }
@@ -194,7 +171,7 @@ public class ExchangeCreateActuator extends AbstractActuator {
       }
     }
 
-    if (Arrays.equals(secondTokenID, "_".getBytes())) {
+    if (Arrays.equals(secondTokenID, TRX_SYMBOL_BYTES)) {
       if (accountCapsule.getBalance() < (secondTokenBalance + calcFee())) {
         throw new ContractValidateException("balance is not enough");
       }
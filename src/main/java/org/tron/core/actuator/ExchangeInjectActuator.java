@@ -1,5 +1,7 @@
 package org.tron.core.actuator;
 
+import static org.tron.core.actuator.ActuatorConstant.TRX_SYMBOL_BYTES;
+
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -39,8 +41,8 @@ public class ExchangeInjectActuator extends AbstractActuator {
     try {
       final ExchangeInjectContract exchangeInjectContract = this.contract
           .unpack(ExchangeInjectContract.class);
-      AccountCapsule accountCapsule = accountStore
-          .get(exchangeInjectContract.getOwnerAddress().toByteArray());
+      AccountCapsule accountCapsule = getAccount(
+          exchangeInjectContract.getOwnerAddress().toByteArray());
 
       ExchangeCapsule exchangeCapsule;
       exchangeCapsule = Commons.getExchangeStoreFinal(dynamicStore, exchangeStore, exchangeV2Store).
@@ -73,20 +75,20 @@ public class ExchangeInjectActuator extends AbstractActuator {
       long newBalance = accountCapsule.getBalance() - calcFee();
       accountCapsule.setBalance(newBalance);
 
-      if (Arrays.equals(tokenID, "_".getBytes())) {
+      if (Arrays.equals(tokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance - tokenQuant);
       } else {
         accountCapsule.reduceAssetAmountV2(tokenID, tokenQuant, dynamicStore, assetIssueStore);
       }
 
-      if (Arrays.equals(anotherTokenID, "_".getBytes())) {
+      if (Arrays.equals(anotherTokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance - anotherTokenQuant);
       } else {
         accountCapsule.reduceAssetAmountV2(anotherTokenID, anotherTokenQuant, dynamicStore, assetIssueStore);
       }
-      accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+      putAccount(accountCapsule.createDbKey(), accountCapsule);
 
-      Commons.putExchangeCapsule(exchangeCapsule, dynamicStore, exchangeStore, exchangeV2Store, assetIssueStore);
+      putExchange(exchangeCapsule);
 
       ret.setExchangeInjectAnotherAmount(anotherTokenQuant);
       ret.setStatus(fee, code.SUCESS);
@@ -133,7 +135,7 @@ public class ExchangeInjectActuator extends AbstractActuator {
       throw new ContractValidateException("accountStore[" + readableOwnerAddress + "] not exists");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
 
     if (accountCapsule.getBalance() < calcFee()) {
       throw new ContractValidateException("No enough balance for exchange inject fee!");
@@ -164,7 +166,7 @@ public class ExchangeInjectActuator extends AbstractActuator {
     long anotherTokenQuant;
 
     if (dynamicStore.getAllowSameTokenName() == 1) {
-      if (!Arrays.equals(tokenID, "_".getBytes()) && !TransactionUtil.isNumber(tokenID)) {
+      if (!Arrays.equals(tokenID, TRX_SYMBOL_BYTES) && !TransactionUtil.isNumber(tokenID)) {
         throw new ContractValidateException("token id is not a valid number");
       }
     }
@@ -213,7 +215,7 @@ public class ExchangeInjectActuator extends AbstractActuator {
       throw new ContractValidateException("token balance must less than " + balanceLimit);
     }
 
-    if (Arrays.equals(tokenID, "_".getBytes())) {
+    if (Arrays.equals(tokenID, TRX_SYMBOL_BYTES)) {
       if (accountCapsule.getBalance() < (tokenQuant + calcFee())) {
         throw new ContractValidateException("balance is not enough");
       }
@@ -223,7 +225,7 @@ public class ExchangeInjectActuator extends AbstractActuator {
       }
     }
 
-    if (Arrays.equals(anotherTokenID, "_".getBytes())) {
+    if (Arrays.equals(anotherTokenID, TRX_SYMBOL_BYTES)) {
       if (accountCapsule.getBalance() < (anotherTokenQuant + calcFee())) {
         throw new ContractValidateException("balance is not enough");
       }
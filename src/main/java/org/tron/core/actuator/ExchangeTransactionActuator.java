@@ -1,5 +1,7 @@
 package org.tron.core.actuator;
 
+import static org.tron.core.actuator.ActuatorConstant.TRX_SYMBOL_BYTES;
+
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -38,8 +40,8 @@ public class ExchangeTransactionActuator extends AbstractActuator {
     try {
       final ExchangeTransactionContract exchangeTransactionContract = this.contract
           .unpack(ExchangeTransactionContract.class);
-      AccountCapsule accountCapsule = accountStore
-          .get(exchangeTransactionContract.getOwnerAddress().toByteArray());
+      AccountCapsule accountCapsule = getAccount(
+          exchangeTransactionContract.getOwnerAddress().toByteArray());
 
       ExchangeCapsule exchangeCapsule = Commons.getExchangeStoreFinal(dynamicStore, exchangeStore, exchangeV2Store).
           get(ByteArray.fromLong(exchangeTransactionContract.getExchangeId()));
@@ -62,21 +64,21 @@ public class ExchangeTransactionActuator extends AbstractActuator {
       long newBalance = accountCapsule.getBalance() - calcFee();
       accountCapsule.setBalance(newBalance);
 
-      if (Arrays.equals(tokenID, "_".getBytes())) {
+      if (Arrays.equals(tokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance - tokenQuant);
       } else {
         accountCapsule.reduceAssetAmountV2(tokenID, tokenQuant, dynamicStore, assetIssueStore);
       }
 
-      if (Arrays.equals(anotherTokenID, "_".getBytes())) {
+      if (Arrays.equals(anotherTokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance + anotherTokenQuant);
       } else {
         accountCapsule.addAssetAmountV2(anotherTokenID, anotherTokenQuant, dynamicStore, assetIssueStore);
       }
 
-      accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+      putAccount(accountCapsule.createDbKey(), accountCapsule);
 
-      Commons.putExchangeCapsule(exchangeCapsule, dynamicStore, exchangeStore, exchangeV2Store, assetIssueStore);
+      putExchange(exchangeCapsule);
 
       ret.setExchangeReceivedAmount(anotherTokenQuant);
       ret.setStatus(fee, code.SUCESS);
@@ -124,7 +126,7 @@ public class ExchangeTransactionActuator extends AbstractActuator {
       throw new ContractValidateException("accountStore[" + readableOwnerAddress + "] not exists");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
 
     if (accountCapsule.getBalance() < calcFee()) {
       throw new ContractValidateException("No enough balance for exchange transaction fee!");
@@ -148,7 +150,7 @@ public class ExchangeTransactionActuator extends AbstractActuator {
     long tokenExpected = contract.getExpected();
 
     if (dynamicStore.getAllowSameTokenName() == 1) {
-      if (!Arrays.equals(tokenID, "_".getBytes()) && !TransactionUtil.isNumber(tokenID)) {
+      if (!Arrays.equals(tokenID, TRX_SYMBOL_BYTES) && !TransactionUtil.isNumber(tokenID)) {
         throw new ContractValidateException("token id is not a valid number");
       }
     }
@@ -177,7 +179,7 @@ public class ExchangeTransactionActuator extends AbstractActuator {
       throw new ContractValidateException("token balance must less than " + balanceLimit);
     }
 
-    if (Arrays.equals(tokenID, "_".getBytes())) {
+    if (Arrays.equals(tokenID, TRX_SYMBOL_BYTES)) {
       if (accountCapsule.getBalance() < (tokenQuant + calcFee())) {
         throw new ContractValidateException("balance is not enough");
       }
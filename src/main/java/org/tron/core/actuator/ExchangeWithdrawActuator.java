@@ -1,5 +1,7 @@
 package org.tron.core.actuator;
 
+import static org.tron.core.actuator.ActuatorConstant.TRX_SYMBOL_BYTES;
+
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
@@ -41,8 +43,8 @@ public class ExchangeWithdrawActuator extends AbstractActuator {
     try {
       final ExchangeWithdrawContract exchangeWithdrawContract = this.contract
           .unpack(ExchangeWithdrawContract.class);
-      AccountCapsule accountCapsule = accountStore
-          .get(exchangeWithdrawContract.getOwnerAddress().toByteArray());
+      AccountCapsule accountCapsule = getAccount(
+          exchangeWithdrawContract.getOwnerAddress().toByteArray());
 
       ExchangeCapsule exchangeCapsule = Commons.getExchangeStoreFinal(dynamicStore, exchangeStore, exchangeV2Store).
           get(ByteArray.fromLong(exchangeWithdrawContract.getExchangeId()));
@@ -81,21 +83,21 @@ public class ExchangeWithdrawActuator extends AbstractActuator {
 
       long newBalance = accountCapsule.getBalance() - calcFee();
 
-      if (Arrays.equals(tokenID, "_".getBytes())) {
+      if (Arrays.equals(tokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance + tokenQuant);
       } else {
         accountCapsule.addAssetAmountV2(tokenID, tokenQuant, dynamicStore, assetIssueStore);
       }
 
-      if (Arrays.equals(anotherTokenID, "_".getBytes())) {
+      if (Arrays.equals(anotherTokenID, TRX_SYMBOL_BYTES)) {
         accountCapsule.setBalance(newBalance + anotherTokenQuant);
       } else {
         accountCapsule.addAssetAmountV2(anotherTokenID, anotherTokenQuant, dynamicStore, assetIssueStore);
       }
 
-      accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+      putAccount(accountCapsule.createDbKey(), accountCapsule);
 
-      Commons.putExchangeCapsule(exchangeCapsule, dynamicStore, exchangeStore, exchangeV2Store, assetIssueStore);
+      putExchange(exchangeCapsule);
 
       ret.setExchangeWithdrawAnotherAmount(anotherTokenQuant);
       ret.setStatus(fee, code.SUCESS);
@@ -143,7 +145,7 @@ public class ExchangeWithdrawActuator extends AbstractActuator {
       throw new ContractValidateException("accountStore[" + readableOwnerAddress + "] not exists");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
 
     if (accountCapsule.getBalance() < calcFee()) {
       throw new ContractValidateException("No enough balance for exchange withdraw fee!");
@@ -172,7 +174,7 @@ public class ExchangeWithdrawActuator extends AbstractActuator {
     long anotherTokenQuant;
 
     if (dynamicStore.getAllowSameTokenName() == 1) {
-      if (!Arrays.equals(tokenID, "_".getBytes()) && !TransactionUtil.isNumber(tokenID)) {
+      if (!Arrays.equals(tokenID, TRX_SYMBOL_BYTES) && !TransactionUtil.isNumber(tokenID)) {
         throw new ContractValidateException("token id is not a valid number");
       }
     }
@@ -44,8 +44,8 @@ public class FreezeBalanceActuator extends AbstractActuator {
       ret.setStatus(fee, code.FAILED);
       throw new ContractExeException(e.getMessage());
     }
-    AccountCapsule accountCapsule = accountStore
-        .get(freezeBalanceContract.getOwnerAddress().toByteArray());
+    AccountCapsule accountCapsule = getAccount(
+        freezeBalanceContract.getOwnerAddress().toByteArray());
 
     long now = dynamicStore.getLatestBlockHeaderTimestamp();
     long duration = freezeBalanceContract.getFrozenDuration() * 86_400_000;
@@ -69,8 +69,9 @@ public class FreezeBalanceActuator extends AbstractActuator {
               frozenBalance + accountCapsule.getFrozenBalance();
           accountCapsule.setFrozenForBandwidth(newFrozenBalanceForBandwidth, expireTime);
         }
-        dynamicStore
-            .addTotalNetWeight(frozenBalance / 1000_000L);
+        long addedNetWeight = frozenBalance / 1000_000L;
+        undoJournal.record(() -> dynamicStore.addTotalNetWeight(-addedNetWeight));
+        dynamicStore.addTotalNetWeight(addedNetWeight);
         break;
       case ENERGY:
         if (!ArrayUtils.isEmpty(receiverAddress)
@@ -85,13 +86,14 @@ public class FreezeBalanceActuator extends AbstractActuator {
                   .getFrozenBalance();
           accountCapsule.setFrozenForEnergy(newFrozenBalanceForEnergy, expireTime);
         }
-        dynamicStore
-            .addTotalEnergyWeight(frozenBalance / 1000_000L);
+        long addedEnergyWeight = frozenBalance / 1000_000L;
+        undoJournal.record(() -> dynamicStore.addTotalEnergyWeight(-addedEnergyWeight));
+        dynamicStore.addTotalEnergyWeight(addedEnergyWeight);
         break;
     }
 
     accountCapsule.setBalance(newBalance);
-    accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+    putAccount(accountCapsule.createDbKey(), accountCapsule);
 
     ret.setStatus(fee, code.SUCESS);
 
@@ -125,7 +127,7 @@ public class FreezeBalanceActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid address");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
@@ -188,7 +190,7 @@ public class FreezeBalanceActuator extends AbstractActuator {
         throw new ContractValidateException("Invalid receiverAddress");
       }
 
-      AccountCapsule receiverCapsule = accountStore.get(receiverAddress);
+      AccountCapsule receiverCapsule = getAccount(receiverAddress);
       if (receiverCapsule == null) {
         String readableOwnerAddress = StringUtil.createReadableString(receiverAddress);
         throw new ContractValidateException(
@@ -220,6 +222,8 @@ public class FreezeBalanceActuator extends AbstractActuator {
   private void delegateResource(byte[] ownerAddress, byte[] receiverAddress, boolean isBandwidth,
       long balance, long expireTime) {
     byte[] key = DelegatedResourceCapsule.createDbKey(ownerAddress, receiverAddress);
+    ByteString owner = ByteString.copyFrom(ownerAddress);
+    ByteString receiver = ByteString.copyFrom(receiverAddress);
     //modify DelegatedResourceStore
     DelegatedResourceCapsule delegatedResourceCapsule = delegatedResourceStore
         .get(key);
@@ -231,8 +235,8 @@ public class FreezeBalanceActuator extends AbstractActuator {
       }
     } else {
       delegatedResourceCapsule = new DelegatedResourceCapsule(
-          ByteString.copyFrom(ownerAddress),
-          ByteString.copyFrom(receiverAddress));
+          owner,
+          receiver);
       if (isBandwidth) {
         delegatedResourceCapsule.setFrozenBalanceForBandwidth(balance, expireTime);
       } else {
@@ -240,6 +244,7 @@ public class FreezeBalanceActuator extends AbstractActuator {
       }
 
     }
+    undoJournal.capture(delegatedResourceStore, key);
     delegatedResourceStore.put(key, delegatedResourceCapsule);
 
     //modify DelegatedResourceAccountIndexStore
@@ -248,12 +253,13 @@ public class FreezeBalanceActuator extends AbstractActuator {
           .get(ownerAddress);
       if (delegatedResourceAccountIndexCapsule == null) {
         delegatedResourceAccountIndexCapsule = new DelegatedResourceAccountIndexCapsule(
-            ByteString.copyFrom(ownerAddress));
+            owner);
       }
       List<ByteString> toAccountsList = delegatedResourceAccountIndexCapsule.getToAccountsList();
-      if (!toAccountsList.contains(ByteString.copyFrom(receiverAddress))) {
-        delegatedResourceAccountIndexCapsule.addToAccount(ByteString.copyFrom(receiverAddress));
+      if (!toAccountsList.contains(receiver)) {
+        delegatedResourceAccountIndexCapsule.addToAccount(receiver);
       }
+      undoJournal.capture(delegatedResourceAccountIndexStore, ownerAddress);
       delegatedResourceAccountIndexStore
           .put(ownerAddress, delegatedResourceAccountIndexCapsule);
     }
@@ -263,26 +269,27 @@ public class FreezeBalanceActuator extends AbstractActuator {
           .get(receiverAddress);
       if (delegatedResourceAccountIndexCapsule == null) {
         delegatedResourceAccountIndexCapsule = new DelegatedResourceAccountIndexCapsule(
-            ByteString.copyFrom(receiverAddress));
+            receiver);
       }
       List<ByteString> fromAccountsList = delegatedResourceAccountIndexCapsule
           .getFromAccountsList();
-      if (!fromAccountsList.contains(ByteString.copyFrom(ownerAddress))) {
-        delegatedResourceAccountIndexCapsule.addFromAccount(ByteString.copyFrom(ownerAddress));
+      if (!fromAccountsList.contains(owner)) {
+        delegatedResourceAccountIndexCapsule.addFromAccount(owner);
       }
+      undoJournal.capture(delegatedResourceAccountIndexStore, receiverAddress);
       delegatedResourceAccountIndexStore
           .put(receiverAddress, delegatedResourceAccountIndexCapsule);
     }
 
     //modify AccountStore
-    AccountCapsule receiverCapsule = accountStore.get(receiverAddress);
+    AccountCapsule receiverCapsule = getAccount(receiverAddress);
     if (isBandwidth) {
       receiverCapsule.addAcquiredDelegatedFrozenBalanceForBandwidth(balance);
     } else {
       receiverCapsule.addAcquiredDelegatedFrozenBalanceForEnergy(balance);
     }
 
-    accountStore.put(receiverCapsule.createDbKey(), receiverCapsule);
+    putAccount(receiverCapsule.createDbKey(), receiverCapsule);
   }
 
 }
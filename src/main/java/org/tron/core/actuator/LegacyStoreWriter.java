@@ -0,0 +1,80 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import org.tron.core.capsule.AssetIssueCapsule;
+import org.tron.core.capsule.ExchangeCapsule;
+import org.tron.core.store.AssetIssueStore;
+import org.tron.core.store.AssetIssueV2Store;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.core.store.ExchangeStore;
+import org.tron.core.store.ExchangeV2Store;
+
+/**
+ * Shared write path for asset issue and exchange records. Until ALLOW_SAME_TOKEN_NAME is
+ * approved the name keyed V1 stores are still part of the chain state, so both the V1 and the V2
+ * record are written, exactly as before; only their construction is shared, the V2 record being
+ * derived from the V1 capsule.
+ */
+final class LegacyStoreWriter {
+
+  private LegacyStoreWriter() {
+  }
+
+  static boolean writeLegacy(DynamicPropertiesStore dynamicStore) {
+    return dynamicStore.getAllowSameTokenName() == 0;
+  }
+
+  /**
+   * Persist a new asset. {@code assetIssueCapsule} is the V1 view, the V2 view only
+   * differs by having its precision reset to 0.
+   */
+  static void putAssetIssue(AssetIssueCapsule assetIssueCapsule, boolean writeLegacy,
+      AssetIssueStore assetIssueStore, AssetIssueV2Store assetIssueV2Store,
+      UndoJournal undoJournal) {
+    if (!writeLegacy) {
+      undoJournal.capture(assetIssueV2Store, assetIssueCapsule.createDbV2Key());
+      assetIssueV2Store.put(assetIssueCapsule.createDbV2Key(), assetIssueCapsule);
+      return;
+    }
+
+    undoJournal.capture(assetIssueStore, assetIssueCapsule.createDbKey());
+    assetIssueStore.put(assetIssueCapsule.createDbKey(), assetIssueCapsule);
+    AssetIssueCapsule assetIssueCapsuleV2 = new AssetIssueCapsule(
+        assetIssueCapsule.getInstance().toBuilder().setPrecision(0).build());
+    undoJournal.capture(assetIssueV2Store, assetIssueCapsuleV2.createDbV2Key());
+    assetIssueV2Store.put(assetIssueCapsuleV2.createDbV2Key(), assetIssueCapsuleV2);
+  }
+
+  /**
+   * Persist a new exchange. {@code exchangeCapsule} is keyed by token name while the legacy
+   * stores are in use; the V2 record is the same exchange with names resolved to token ids.
+   */
+  static void putNewExchange(ExchangeCapsule exchangeCapsule, boolean writeLegacy,
+      AssetIssueStore assetIssueStore, ExchangeStore exchangeStore,
+      ExchangeV2Store exchangeV2Store, UndoJournal undoJournal) {
+    undoJournal.capture(exchangeV2Store, exchangeCapsule.createDbKey());
+    if (!writeLegacy) {
+      exchangeV2Store.put(exchangeCapsule.createDbKey(), exchangeCapsule);
+      return;
+    }
+
+    undoJournal.capture(exchangeStore, exchangeCapsule.createDbKey());
+    exchangeStore.put(exchangeCapsule.createDbKey(), exchangeCapsule);
+    ExchangeCapsule exchangeCapsuleV2 = new ExchangeCapsule(exchangeCapsule.getInstance()
+        .toBuilder()
+        .setFirstTokenId(
+            ByteString.copyFrom(toTokenId(exchangeCapsule.getFirstTokenId(), assetIssueStore)))
+        .setSecondTokenId(
+            ByteString.copyFrom(toTokenId(exchangeCapsule.getSecondTokenId(), assetIssueStore)))
+        .build());
+    exchangeV2Store.put(exchangeCapsuleV2.createDbKey(), exchangeCapsuleV2);
+  }
+
+  private static byte[] toTokenId(byte[] tokenName, AssetIssueStore assetIssueStore) {
+    if (Arrays.equals(tokenName, ActuatorConstant.TRX_SYMBOL_BYTES)) {
+      return tokenName;
+    }
+    return assetIssueStore.get(tokenName).getId().getBytes();
+  }
+}
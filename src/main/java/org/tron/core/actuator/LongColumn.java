@@ -0,0 +1,54 @@
+package org.tron.core.actuator;
+
+import java.util.Arrays;
+
+/**
+ * One primitive field per account, e.g. the balance or a frozen total, indexed by
+ * {@link AccountOrdinalIndex} ordinal. Ordinals that were never set, and the -1 of an address
+ * without ordinal, read as the default value.
+ * Not thread safe; a column belongs to whoever maintains it, usually the block executor.
+ */
+public final class LongColumn {
+
+  private final long defaultValue;
+  private long[] values;
+
+  public LongColumn(int expectedSize, long defaultValue) {
+    this.defaultValue = defaultValue;
+    this.values = new long[Math.max(expectedSize, 16)];
+    if (defaultValue != 0) {
+      Arrays.fill(values, defaultValue);
+    }
+  }
+
+  public long get(int ordinal) {
+    return ordinal >= 0 && ordinal < values.length ? values[ordinal] : defaultValue;
+  }
+
+  public void set(int ordinal, long value) {
+    ensureCapacity(ordinal);
+    values[ordinal] = value;
+  }
+
+  public long add(int ordinal, long delta) {
+    ensureCapacity(ordinal);
+    return values[ordinal] = Math.addExact(values[ordinal], delta);
+  }
+
+  public int capacity() {
+    return values.length;
+  }
+
+  private void ensureCapacity(int ordinal) {
+    if (ordinal < 0) {
+      throw new IndexOutOfBoundsException("negative ordinal " + ordinal);
+    }
+    if (ordinal >= values.length) {
+      int length = values.length;
+      values = Arrays.copyOf(values, Math.max(length * 2, ordinal + 1));
+      if (defaultValue != 0) {
+        Arrays.fill(values, length, values.length, defaultValue);
+      }
+    }
+  }
+}
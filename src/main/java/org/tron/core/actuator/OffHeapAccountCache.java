@@ -0,0 +1,345 @@
+package org.tron.core.actuator;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.db2.core.ITronChainBase;
+import org.tron.core.store.AccountStore;
+
+/**
+ * Serialized accounts kept in direct buffers, in front of {@code accountStore.get}, so hot
+ * accounts skip the database without keeping decoded capsules in the old generation. Every entry
+ * takes one fixed size slot; accounts larger than a slot are not cached. Slots are reclaimed in
+ * CLOCK order.
+ *
+ * <p>The cache is not consulted unless the embedder {@link #open}s it for a block it applies, and
+ * {@link #close()} drops every entry once that block is committed or reverted; maintenance and
+ * reverted sessions happen outside that scope. Account writes made outside the actuators within
+ * the block, by bandwidth and fee processing, StorageMarket or the VM, are not seen by the cache
+ * itself, so it only opens with a {@link WriteNotifier} reporting every write to the account
+ * store, and drops the written accounts as they are reported. {@link UndoJournal#rollback()}
+ * drops the accounts it restores, and a speculative block neither reads nor fills the cache.
+ * Lookups through any other store, e.g. a {@link StoreView}, bypass it.
+ */
+@Slf4j(topic = "actuator")
+public final class OffHeapAccountCache {
+
+  private static final int MAX_SLAB_BYTES = 1 << 30;
+
+  private static final OffHeapAccountCache INSTANCE = new OffHeapAccountCache();
+
+  private AccountStore accountStore;
+  private WriteNotifier writes;
+  private Consumer<byte[]> invalidation;
+  private int slotSize;
+  private int slotsPerSlab;
+  private ByteBuffer[] slabs;
+  private int[] lengths;
+  private Address[] owners;
+  private boolean[] referenced;
+  private AddressIntMap index;
+  private int hand;
+  // bumped by every change, a store read only fills the cache if nothing changed meanwhile
+  private long version;
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long oversized;
+
+  private OffHeapAccountCache() {
+  }
+
+  public static OffHeapAccountCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Allocates the buffers; the cache is used once it is {@link #open}ed.
+   *
+   * @param capacityBytes off heap memory to use, rounded down to whole slots.
+   * @param slotSize the largest serialized account that is cached.
+   */
+  public synchronized void activate(long capacityBytes, int slotSize) {
+    long slots = capacityBytes / slotSize;
+    if (slotSize <= 0 || slots <= 0 || slots > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          "invalid cache geometry " + capacityBytes + " bytes in slots of " + slotSize);
+    }
+    int slotCount = (int) slots;
+    this.slotSize = slotSize;
+    this.slotsPerSlab = Math.max(1, MAX_SLAB_BYTES / slotSize);
+    this.slabs = new ByteBuffer[(slotCount + slotsPerSlab - 1) / slotsPerSlab];
+    for (int i = 0; i < slabs.length; i++) {
+      int slabSlots = Math.min(slotsPerSlab, slotCount - i * slotsPerSlab);
+      slabs[i] = ByteBuffer.allocateDirect(slabSlots * slotSize);
+    }
+    this.lengths = new int[slotCount];
+    this.owners = new Address[slotCount];
+    this.referenced = new boolean[slotCount];
+    this.index = new AddressIntMap(slotCount, -1);
+    Arrays.fill(lengths, -1);
+    this.hand = 0;
+    this.accountStore = null;
+    resetStatistics();
+    logger.info("Off heap account cache of {} slots of {} bytes", slotCount, slotSize);
+  }
+
+  public void disable() {
+    close();
+    synchronized (this) {
+      slabs = null;
+      lengths = null;
+      owners = null;
+      referenced = null;
+      index = null;
+      version++;
+    }
+  }
+
+  public synchronized boolean isActive() {
+    return slabs != null;
+  }
+
+  /**
+   * Start caching the accounts of {@code accountStore}, for the block about to be applied to it.
+   *
+   * @param writes reports every write to {@code accountStore}, including those made outside the
+   * actuators; the cache drops each reported account until it is closed.
+   */
+  public void open(AccountStore accountStore, WriteNotifier writes) {
+    if (writes == null) {
+      throw new IllegalArgumentException("the account cache needs to be told about every write");
+    }
+    close();
+    if (!isActive()) {
+      throw new IllegalStateException("off heap account cache is not active");
+    }
+    // registered before the first lookup, so no write can be missed; outside the lock, as the
+    // notifier may hold its own while it reports
+    Consumer<byte[]> invalidation = address -> invalidate(accountStore, address);
+    writes.addListener(invalidation);
+    synchronized (this) {
+      clear();
+      this.accountStore = accountStore;
+      this.writes = writes;
+      this.invalidation = invalidation;
+    }
+  }
+
+  /**
+   * Stop caching and drop every entry, once the block is committed or reverted.
+   */
+  public void close() {
+    WriteNotifier registered;
+    Consumer<byte[]> listener;
+    synchronized (this) {
+      clear();
+      accountStore = null;
+      registered = writes;
+      listener = invalidation;
+      writes = null;
+      invalidation = null;
+    }
+    if (registered != null) {
+      registered.removeListener(listener);
+    }
+  }
+
+  public synchronized boolean isOpen() {
+    return accountStore != null;
+  }
+
+  public synchronized void clear() {
+    version++;
+    if (slabs == null) {
+      return;
+    }
+    index.clear();
+    Arrays.fill(lengths, -1);
+    Arrays.fill(owners, null);
+    Arrays.fill(referenced, false);
+  }
+
+  /**
+   * {@code store.get(address)}, answered from the cache when it is open for {@code store}.
+   */
+  public AccountCapsule get(AccountStore store, byte[] address) {
+    if (SpeculativeEffects.isSpeculating()) {
+      return store.get(address);
+    }
+    byte[] data;
+    long readVersion;
+    synchronized (this) {
+      if (store != accountStore) {
+        return store.get(address);
+      }
+      data = read(address);
+      if (data == null) {
+        misses++;
+      } else {
+        hits++;
+      }
+      readVersion = version;
+    }
+    if (data != null) {
+      return new AccountCapsule(data);
+    }
+    AccountCapsule account = store.get(address);
+    if (account != null) {
+      byte[] read = account.getData();
+      synchronized (this) {
+        // a write or invalidation since the lookup may be newer than what was read
+        if (store == accountStore && version == readVersion) {
+          put(address, read);
+        }
+      }
+    }
+    return account;
+  }
+
+  /**
+   * Called after {@code account} was written to {@code store} under {@code address}.
+   */
+  public void update(AccountStore store, byte[] address, AccountCapsule account) {
+    if (SpeculativeEffects.isSpeculating()) {
+      // a promoted session is merged into the head store, under whatever store is cached
+      SpeculativeEffects.apply(() -> evict(address));
+      return;
+    }
+    synchronized (this) {
+      if (store == accountStore) {
+        version++;
+        put(address, account.getData());
+      }
+    }
+  }
+
+  public synchronized void invalidate(ITronChainBase<?> store, byte[] address) {
+    if (store == accountStore && accountStore != null) {
+      version++;
+      remove(address);
+    }
+  }
+
+  private synchronized void evict(byte[] address) {
+    if (accountStore != null) {
+      version++;
+      remove(address);
+    }
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  public synchronized double getHitRatio() {
+    long lookups = hits + misses;
+    return lookups == 0 ? 0 : (double) hits / lookups;
+  }
+
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /**
+   * Accounts that were not cached because their serialized form exceeds the slot size.
+   */
+  public synchronized long getOversized() {
+    return oversized;
+  }
+
+  public synchronized int size() {
+    return index == null ? 0 : index.size();
+  }
+
+  private void put(byte[] address, byte[] data) {
+    if (data.length > slotSize) {
+      oversized++;
+      remove(address);
+      return;
+    }
+    int slot = index.get(address);
+    if (slot < 0) {
+      slot = claimSlot();
+      owners[slot] = Address.of(address);
+      index.put(owners[slot], slot);
+    }
+    write(slot, data);
+  }
+
+  private byte[] read(byte[] address) {
+    int slot = index.get(address);
+    if (slot < 0) {
+      return null;
+    }
+    referenced[slot] = true;
+    byte[] data = new byte[lengths[slot]];
+    ByteBuffer slab = slabs[slot / slotsPerSlab];
+    // through Buffer: built on a newer JDK, the ByteBuffer override would not link on Java 8
+    ((Buffer) slab).position(slot % slotsPerSlab * slotSize);
+    slab.get(data);
+    return data;
+  }
+
+  private void write(int slot, byte[] data) {
+    ByteBuffer slab = slabs[slot / slotsPerSlab];
+    ((Buffer) slab).position(slot % slotsPerSlab * slotSize);
+    slab.put(data);
+    lengths[slot] = data.length;
+    referenced[slot] = true;
+  }
+
+  private void remove(byte[] address) {
+    int slot = index.remove(address);
+    if (slot >= 0) {
+      lengths[slot] = -1;
+      owners[slot] = null;
+      referenced[slot] = false;
+    }
+  }
+
+  private int claimSlot() {
+    while (true) {
+      int slot = hand;
+      hand = hand + 1 == lengths.length ? 0 : hand + 1;
+      if (lengths[slot] < 0) {
+        return slot;
+      }
+      if (referenced[slot]) {
+        referenced[slot] = false;
+        continue;
+      }
+      index.remove(owners[slot]);
+      owners[slot] = null;
+      lengths[slot] = -1;
+      evictions++;
+      return slot;
+    }
+  }
+
+  private void resetStatistics() {
+    hits = 0;
+    misses = 0;
+    evictions = 0;
+    oversized = 0;
+  }
+
+  /**
+   * Reports the writes to an account store, e.g. from a wrapper of the store or a hook in its
+   * database. Listeners are called after the write with the written address and may be called
+   * from any thread.
+   */
+  public interface WriteNotifier {
+
+    void addListener(Consumer<byte[]> listener);
+
+    void removeListener(Consumer<byte[]> listener);
+  }
+}
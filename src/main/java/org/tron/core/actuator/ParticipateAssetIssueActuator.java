@@ -54,7 +54,7 @@ public class ParticipateAssetIssueActuator extends AbstractActuator {
 
       //subtract from owner address
       byte[] ownerAddress = participateAssetIssueContract.getOwnerAddress().toByteArray();
-      AccountCapsule ownerAccount = accountStore.get(ownerAddress);
+      AccountCapsule ownerAccount = getAccount(ownerAddress);
       long balance = Math.subtractExact(ownerAccount.getBalance(), cost);
       balance = Math.subtractExact(balance, fee);
       ownerAccount.setBalance(balance);
@@ -70,15 +70,15 @@ public class ParticipateAssetIssueActuator extends AbstractActuator {
 
       //add to to_address
       byte[] toAddress = participateAssetIssueContract.getToAddress().toByteArray();
-      AccountCapsule toAccount = accountStore.get(toAddress);
+      AccountCapsule toAccount = getAccount(toAddress);
       toAccount.setBalance(Math.addExact(toAccount.getBalance(), cost));
       if (!toAccount.reduceAssetAmountV2(key, exchangeAmount, dynamicStore, assetIssueStore)) {
         throw new ContractExeException("reduceAssetAmount failed !");
       }
 
       //write to db
-      accountStore.put(ownerAddress, ownerAccount);
-      accountStore.put(toAddress, toAccount);
+      putAccount(ownerAddress, ownerAccount);
+      putAccount(toAddress, toAccount);
       ret.setStatus(fee, Protocol.Transaction.Result.code.SUCESS);
     } catch (InvalidProtocolBufferException e) {
       logger.debug(e.getMessage(), e);
@@ -139,7 +139,7 @@ public class ParticipateAssetIssueActuator extends AbstractActuator {
     }
 
     //Whether the accountStore exist
-    AccountCapsule ownerAccount = accountStore.get(ownerAddress);
+    AccountCapsule ownerAccount = getAccount(ownerAddress);
     if (ownerAccount == null) {
       throw new ContractValidateException("Account does not exist!");
     }
@@ -176,7 +176,7 @@ public class ParticipateAssetIssueActuator extends AbstractActuator {
         throw new ContractValidateException("Can not process the exchange!");
       }
 
-      AccountCapsule toAccount = accountStore.get(toAddress);
+      AccountCapsule toAccount = getAccount(toAddress);
       if (toAccount == null) {
         throw new ContractValidateException("To accountStore does not exist!");
       }
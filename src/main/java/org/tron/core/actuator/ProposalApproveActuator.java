@@ -47,6 +47,7 @@ public class ProposalApproveActuator extends AbstractActuator {
       } else {
         proposalCapsule.removeApproval(committeeAddress);
       }
+      undoJournal.capture(proposalStore, proposalCapsule.createDbKey());
       proposalStore.put(proposalCapsule.createDbKey(), proposalCapsule);
 
       ret.setStatus(fee, code.SUCESS);
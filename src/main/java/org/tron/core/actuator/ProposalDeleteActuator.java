@@ -39,6 +39,7 @@ public class ProposalDeleteActuator extends AbstractActuator {
       ProposalCapsule proposalCapsule = proposalStore.
           get(ByteArray.fromLong(proposalDeleteContract.getProposalId()));
       proposalCapsule.setState(State.CANCELED);
+      undoJournal.capture(proposalStore, proposalCapsule.createDbKey());
       proposalStore.put(proposalCapsule.createDbKey(), proposalCapsule);
 
       ret.setStatus(fee, code.SUCESS);
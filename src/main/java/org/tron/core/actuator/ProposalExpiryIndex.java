@@ -0,0 +1,94 @@
+package org.tron.core.actuator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.tron.core.capsule.ProposalCapsule;
+import org.tron.core.store.ProposalStore;
+import org.tron.protos.Protocol.Proposal.State;
+
+/**
+ * Proposal ids by expiration time, so maintenance can go straight to the proposals due in its
+ * window instead of walking back from the latest proposal number.
+ *
+ * <p>The index is a superset of the pending proposals: entries added by reverted blocks and
+ * proposals canceled since are not removed, because a revert could make them pending again.
+ * Callers must load each returned proposal and check its state, and only {@link #prune} a
+ * window once its processing can no longer be reverted.
+ */
+public final class ProposalExpiryIndex {
+
+  private static final ProposalExpiryIndex INSTANCE = new ProposalExpiryIndex();
+
+  private final NavigableMap<Long, Set<Long>> proposalsByExpiration = new TreeMap<>();
+  private boolean active;
+
+  private ProposalExpiryIndex() {
+  }
+
+  public static ProposalExpiryIndex getInstance() {
+    return INSTANCE;
+  }
+
+  public synchronized boolean isActive() {
+    return active;
+  }
+
+  public synchronized void rebuild(ProposalStore proposalStore) {
+    proposalsByExpiration.clear();
+    for (Entry<byte[], ProposalCapsule> entry : proposalStore) {
+      ProposalCapsule proposalCapsule = entry.getValue();
+      if (proposalCapsule.getState() == State.PENDING) {
+        index(proposalCapsule.getExpirationTime(), proposalCapsule.getID());
+      }
+    }
+    active = true;
+  }
+
+  public synchronized void deactivate() {
+    active = false;
+    proposalsByExpiration.clear();
+  }
+
+  public synchronized void add(long expirationTime, long proposalId) {
+    if (active) {
+      index(expirationTime, proposalId);
+    }
+  }
+
+  /**
+   * Undo {@link #add}, for a proposal whose creation was rolled back.
+   */
+  public synchronized void remove(long expirationTime, long proposalId) {
+    Set<Long> ids = proposalsByExpiration.get(expirationTime);
+    if (ids != null && ids.remove(proposalId) && ids.isEmpty()) {
+      proposalsByExpiration.remove(expirationTime);
+    }
+  }
+
+  /**
+   * @return ids of the proposals expiring at or before {@code time}, in expiration order.
+   */
+  public synchronized List<Long> getDue(long time) {
+    if (!active) {
+      throw new IllegalStateException("proposal expiry index is not active");
+    }
+    List<Long> due = new ArrayList<>();
+    for (Set<Long> ids : proposalsByExpiration.headMap(time, true).values()) {
+      due.addAll(ids);
+    }
+    return due;
+  }
+
+  public synchronized void prune(long time) {
+    proposalsByExpiration.headMap(time, true).clear();
+  }
+
+  private void index(long expirationTime, long proposalId) {
+    proposalsByExpiration.computeIfAbsent(expirationTime, k -> new TreeSet<>()).add(proposalId);
+  }
+}
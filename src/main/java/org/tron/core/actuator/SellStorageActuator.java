@@ -38,12 +38,14 @@ public class SellStorageActuator extends AbstractActuator {
       throw new ContractExeException(e.getMessage());
     }
 
-    AccountCapsule accountCapsule = accountStore
-        .get(sellStorageContract.getOwnerAddress().toByteArray());
+    AccountCapsule accountCapsule = getAccount(sellStorageContract.getOwnerAddress().toByteArray());
 
     long bytes = sellStorageContract.getStorageBytes();
 
+    // StorageMarket writes the account and dynamic stores itself
+    undoJournal.markIncomplete();
     storageMarket.sellStorage(accountCapsule, bytes);
+    invalidateCachedAccount(accountCapsule.createDbKey());
 
     ret.setStatus(fee, code.SUCESS);
 
@@ -77,7 +79,7 @@ public class SellStorageActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid address");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
@@ -35,10 +35,12 @@ public class SetAccountIdActuator extends AbstractActuator {
     }
 
     byte[] ownerAddress = setAccountIdContract.getOwnerAddress().toByteArray();
-    AccountCapsule account = accountStore.get(ownerAddress);
+    AccountCapsule account = getAccount(ownerAddress);
 
     account.setAccountId(setAccountIdContract.getAccountId().toByteArray());
-    accountStore.put(ownerAddress, account);
+    putAccount(ownerAddress, account);
+    // the index key is derived inside the store, so this write cannot be journaled
+    undoJournal.markIncomplete();
     accountIdIndexStore.put(account);
     ret.setStatus(fee, code.SUCESS);
 
@@ -74,7 +76,7 @@ public class SetAccountIdActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid ownerAddress");
     }
 
-    AccountCapsule account = accountStore.get(ownerAddress);
+    AccountCapsule account = getAccount(ownerAddress);
     if (account == null) {
       throw new ContractValidateException("Account has not existed");
     }
@@ -0,0 +1,61 @@
+package org.tron.core.actuator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Updates the actuators make to state kept outside the stores: the {@link VoteTally}, the
+ * proposal expiry index, the account ordinal index and the {@link OffHeapAccountCache}. On a
+ * thread that executes a block speculatively they are held back, in order, until the speculation
+ * is promoted, and dropped with it if it is discarded; on any other thread they are applied at
+ * once. While speculating, the caches those updates would refresh are bypassed, so the
+ * speculative block never reads state it has not made visible yet.
+ */
+public final class SpeculativeEffects {
+
+  private static final ThreadLocal<List<Runnable>> HELD = new ThreadLocal<>();
+
+  private SpeculativeEffects() {
+  }
+
+  /**
+   * Start holding back the effects of the calling thread.
+   */
+  public static void begin() {
+    HELD.set(new ArrayList<>());
+  }
+
+  /**
+   * Stop holding back the effects of the calling thread.
+   *
+   * @return the effects held back since {@link #begin()}, in order, for {@link #promote}.
+   */
+  public static List<Runnable> end() {
+    List<Runnable> held = HELD.get();
+    HELD.remove();
+    return held == null ? Collections.emptyList() : held;
+  }
+
+  public static boolean isSpeculating() {
+    return HELD.get() != null;
+  }
+
+  /**
+   * Apply the effects of a promoted speculation, after its session has been merged.
+   */
+  public static void promote(List<Runnable> effects) {
+    for (Runnable effect : effects) {
+      effect.run();
+    }
+  }
+
+  static void apply(Runnable effect) {
+    List<Runnable> held = HELD.get();
+    if (held == null) {
+      effect.run();
+    } else {
+      held.add(effect);
+    }
+  }
+}
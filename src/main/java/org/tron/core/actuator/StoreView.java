@@ -0,0 +1,127 @@
+package org.tron.core.actuator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.AssetIssueV2Store;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.core.store.ExchangeV2Store;
+import org.tron.core.store.WitnessStore;
+
+/**
+ * Read only stores frozen at one committed state, for validating incoming transactions while a
+ * block is applied to the head stores. The embedder builds the stores over a database snapshot
+ * after each block commit and {@link #publish}es them; validators {@link #acquire()} the latest
+ * view, construct their actuators over it and {@link #close()} it when done. The snapshot is
+ * released through {@code onRelease} once a newer view has been published and the last
+ * validator using the old one has closed it.
+ *
+ * <p>Only {@link Actuator#validate()} may run against a view.
+ */
+public final class StoreView implements AutoCloseable {
+
+  private static final AtomicReference<StoreView> CURRENT = new AtomicReference<>();
+
+  private final long version;
+  private final AccountStore accountStore;
+  private final DynamicPropertiesStore dynamicStore;
+  private final WitnessStore witnessStore;
+  private final ExchangeV2Store exchangeV2Store;
+  private final AssetIssueV2Store assetIssueV2Store;
+  private final Runnable onRelease;
+  // one reference is held by CURRENT until the view is replaced
+  private final AtomicInteger references = new AtomicInteger(1);
+
+  /**
+   * @param version increases with every published view, e.g. a commit counter; block numbers
+   * repeat after a fork switch.
+   */
+  public StoreView(long version, AccountStore accountStore, DynamicPropertiesStore dynamicStore,
+      WitnessStore witnessStore, ExchangeV2Store exchangeV2Store,
+      AssetIssueV2Store assetIssueV2Store, Runnable onRelease) {
+    this.version = version;
+    this.accountStore = accountStore;
+    this.dynamicStore = dynamicStore;
+    this.witnessStore = witnessStore;
+    this.exchangeV2Store = exchangeV2Store;
+    this.assetIssueV2Store = assetIssueV2Store;
+    this.onRelease = onRelease;
+  }
+
+  public static void publish(StoreView view) {
+    StoreView previous;
+    do {
+      previous = CURRENT.get();
+      if (previous != null && view.version <= previous.version) {
+        throw new IllegalArgumentException(
+            "view version " + view.version + " is not newer than " + previous.version);
+      }
+    } while (!CURRENT.compareAndSet(previous, view));
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  /**
+   * @return the latest published view, which the caller has to close, or null if none has been
+   * published yet.
+   */
+  public static StoreView acquire() {
+    while (true) {
+      StoreView view = CURRENT.get();
+      if (view == null || view.retain()) {
+        return view;
+      }
+      // replaced and released meanwhile, the next read sees its successor
+    }
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public AccountStore getAccountStore() {
+    return accountStore;
+  }
+
+  public DynamicPropertiesStore getDynamicStore() {
+    return dynamicStore;
+  }
+
+  public WitnessStore getWitnessStore() {
+    return witnessStore;
+  }
+
+  public ExchangeV2Store getExchangeV2Store() {
+    return exchangeV2Store;
+  }
+
+  public AssetIssueV2Store getAssetIssueV2Store() {
+    return assetIssueV2Store;
+  }
+
+  @Override
+  public void close() {
+    release();
+  }
+
+  private boolean retain() {
+    int count;
+    do {
+      count = references.get();
+      if (count == 0) {
+        return false;
+      }
+    } while (!references.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  private void release() {
+    int count = references.decrementAndGet();
+    if (count == 0) {
+      onRelease.run();
+    } else if (count < 0) {
+      throw new IllegalStateException("store view " + version + " closed too often");
+    }
+  }
+}
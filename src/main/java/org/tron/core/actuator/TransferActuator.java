@@ -16,7 +16,6 @@ import org.tron.core.store.AccountStore;
 import org.tron.core.store.AssetIssueStore;
 import org.tron.core.store.DynamicPropertiesStore;
 import org.tron.protos.Contract.TransferContract;
-import org.tron.protos.Protocol.AccountType;
 import org.tron.protos.Protocol.Transaction.Result.code;
 
 @Slf4j(topic = "actuator")
@@ -26,8 +25,75 @@ public class TransferActuator extends AbstractActuator {
     super(contract, accountStore, assetIssueStore, dynamicStore);
   }
 
+  /**
+   * Loads owner, recipient and, when a fee is due, the blackhole once, applies fee, debit and
+   * credit to them in memory with the checks of the generic path, {@link #executeReference}, in
+   * its order, and writes each of them once. On failure nothing is written, where the generic path
+   * may already have written the recipient and the fee; the transaction fails either way.
+   */
   @Override
   public boolean execute(TransactionResultCapsule ret) throws ContractExeException {
+    long fee = calcFee();
+    try {
+      TransferContract transferContract = contract.unpack(TransferContract.class);
+      long amount = transferContract.getAmount();
+      byte[] toAddress = transferContract.getToAddress().toByteArray();
+      byte[] ownerAddress = transferContract.getOwnerAddress().toByteArray();
+
+      AccountCapsule toAccount = getAccount(toAddress);
+      boolean newAccount = toAccount == null;
+      if (newAccount) {
+        toAccount = AccountTemplates.newNormalAccount(transferContract.getToAddress(),
+            getLatestBlockHeaderTimestamp(), dynamicStore, assetIssueStore);
+        fee = fee + getCreateNewAccountFee();
+      }
+      AccountCapsule ownerAccount = getAccount(ownerAddress);
+      AccountCapsule blackhole = null;
+      if (fee != 0) {
+        blackhole = getBlackhole();
+        byte[] blackholeAddress = blackhole.createDbKey();
+        if (Arrays.equals(blackholeAddress, ownerAddress)) {
+          blackhole = ownerAccount;
+        } else if (Arrays.equals(blackholeAddress, toAddress)) {
+          blackhole = toAccount;
+        }
+        changeBalance(ownerAccount, -fee);
+        changeBalance(blackhole, fee);
+      }
+      ret.setStatus(fee, code.SUCESS);
+      changeBalance(ownerAccount, -amount);
+      changeBalance(toAccount, amount);
+
+      putAccount(ownerAddress, ownerAccount);
+      if (newAccount) {
+        putNewAccount(toAddress, toAccount);
+      } else {
+        putAccount(toAddress, toAccount);
+      }
+      if (blackhole != null && blackhole != ownerAccount && blackhole != toAccount) {
+        putAccount(blackhole.createDbKey(), blackhole);
+      }
+    } catch (BalanceInsufficientException e) {
+      logger.debug(e.getMessage(), e);
+      ret.setStatus(fee, code.FAILED);
+      throw new ContractExeException(e.getMessage());
+    } catch (ArithmeticException e) {
+      logger.debug(e.getMessage(), e);
+      ret.setStatus(fee, code.FAILED);
+      throw new ContractExeException(e.getMessage());
+    } catch (InvalidProtocolBufferException e) {
+      logger.debug(e.getMessage(), e);
+      ret.setStatus(fee, code.FAILED);
+      throw new ContractExeException(e.getMessage());
+    }
+    return true;
+  }
+
+  /**
+   * The generic execution path, one adjustBalance per balance change. {@link #execute} must leave
+   * the same state and result whenever it succeeds; this is what it is checked against.
+   */
+  boolean executeReference(TransactionResultCapsule ret) throws ContractExeException {
     long fee = calcFee();
     try {
       TransferContract transferContract = contract.unpack(TransferContract.class);
@@ -36,21 +102,19 @@ public class TransferActuator extends AbstractActuator {
       byte[] ownerAddress = transferContract.getOwnerAddress().toByteArray();
 
       // if account with to_address does not exist, create it first.
-      AccountCapsule toAccount = accountStore.get(toAddress);
+      AccountCapsule toAccount = getAccount(toAddress);
       if (toAccount == null) {
-        boolean withDefaultPermission =
-            dynamicStore.getAllowMultiSign() == 1;
-        toAccount = new AccountCapsule(ByteString.copyFrom(toAddress), AccountType.Normal,
-            dynamicStore.getLatestBlockHeaderTimestamp(), withDefaultPermission, dynamicStore, assetIssueStore);
-        accountStore.put(toAddress, toAccount);
+        toAccount = AccountTemplates.newNormalAccount(transferContract.getToAddress(),
+            getLatestBlockHeaderTimestamp(), dynamicStore, assetIssueStore);
+        putNewAccount(toAddress, toAccount);
 
-        fee = fee + dynamicStore.getCreateNewAccountFeeInSystemContract();
+        fee = fee + getCreateNewAccountFee();
       }
-      Commons.adjustBalance(accountStore, ownerAddress, -fee);
-      Commons.adjustBalance(accountStore, accountStore.getBlackhole().createDbKey(), fee);
+      adjustBalance(ownerAddress, -fee);
+      adjustBlackholeBalance(fee);
       ret.setStatus(fee, code.SUCESS);
-      Commons.adjustBalance(accountStore, ownerAddress, -amount);
-      Commons.adjustBalance(accountStore, toAddress, amount);
+      adjustBalance(ownerAddress, -amount);
+      adjustBalance(toAddress, amount);
     } catch (BalanceInsufficientException e) {
       logger.debug(e.getMessage(), e);
       ret.setStatus(fee, code.FAILED);
@@ -104,7 +168,7 @@ public class TransferActuator extends AbstractActuator {
       throw new ContractValidateException("Cannot transfer trx to yourself.");
     }
 
-    AccountCapsule ownerAccount = accountStore.get(ownerAddress);
+    AccountCapsule ownerAccount = getAccount(ownerAddress);
     if (ownerAccount == null) {
       throw new ContractValidateException("Validate TransferContract error, no OwnerAccount.");
     }
@@ -116,9 +180,9 @@ public class TransferActuator extends AbstractActuator {
     }
 
     try {
-      AccountCapsule toAccount = accountStore.get(toAddress);
+      AccountCapsule toAccount = getAccount(toAddress);
       if (toAccount == null) {
-        fee = fee + dynamicStore.getCreateNewAccountFeeInSystemContract();
+        fee = fee + getCreateNewAccountFee();
       }
 
       if (balance < Math.addExact(amount, fee)) {
@@ -34,7 +34,6 @@ import org.tron.core.store.AssetIssueStore;
 import org.tron.core.store.AssetIssueV2Store;
 import org.tron.core.store.DynamicPropertiesStore;
 import org.tron.protos.Contract.TransferAssetContract;
-import org.tron.protos.Protocol.AccountType;
 import org.tron.protos.Protocol.Transaction.Result.code;
 
 @Slf4j(topic = "actuator")
@@ -54,30 +53,32 @@ public class TransferAssetActuator extends AbstractActuator {
           .unpack(TransferAssetContract.class);
       byte[] ownerAddress = transferAssetContract.getOwnerAddress().toByteArray();
       byte[] toAddress = transferAssetContract.getToAddress().toByteArray();
-      AccountCapsule toAccountCapsule = accountStore.get(toAddress);
-      if (toAccountCapsule == null) {
-        boolean withDefaultPermission =
-            dynamicStore.getAllowMultiSign() == 1;
-        toAccountCapsule = new AccountCapsule(ByteString.copyFrom(toAddress), AccountType.Normal,
-            dynamicStore.getLatestBlockHeaderTimestamp(), withDefaultPermission, dynamicStore, assetIssueStore);
-        accountStore.put(toAddress, toAccountCapsule);
-
-        fee = fee + dynamicStore.getCreateNewAccountFeeInSystemContract();
+      AccountCapsule toAccountCapsule = getAccount(toAddress);
+      boolean newAccount = toAccountCapsule == null;
+      if (newAccount) {
+        toAccountCapsule = AccountTemplates.newNormalAccount(transferAssetContract.getToAddress(),
+            getLatestBlockHeaderTimestamp(), dynamicStore, assetIssueStore);
+        fee = fee + getCreateNewAccountFee();
       }
-      ByteString assetName = transferAssetContract.getAssetName();
+      byte[] assetName = transferAssetContract.getAssetName().toByteArray();
       long amount = transferAssetContract.getAmount();
 
-      Commons.adjustBalance(accountStore, ownerAddress, -fee);
-      Commons.adjustBalance(accountStore, accountStore.getBlackhole().createDbKey(), fee);
+      adjustBalance(ownerAddress, -fee);
+      adjustBlackholeBalance(fee);
 
-      AccountCapsule ownerAccountCapsule = accountStore.get(ownerAddress);
-      if (!ownerAccountCapsule.reduceAssetAmountV2(assetName.toByteArray(), amount, dynamicStore, assetIssueStore)) {
+      AccountCapsule ownerAccountCapsule = getAccount(ownerAddress);
+      if (!ownerAccountCapsule.reduceAssetAmountV2(assetName, amount, dynamicStore, assetIssueStore)) {
         throw new ContractExeException("reduceAssetAmount failed !");
       }
-      accountStore.put(ownerAddress, ownerAccountCapsule);
+      putAccount(ownerAddress, ownerAccountCapsule);
 
-      toAccountCapsule.addAssetAmountV2(assetName.toByteArray(), amount, dynamicStore, assetIssueStore);
-      accountStore.put(toAddress, toAccountCapsule);
+      toAccountCapsule.addAssetAmountV2(assetName, amount, dynamicStore, assetIssueStore);
+      // a new recipient is only written here, once it holds the asset
+      if (newAccount) {
+        putNewAccount(toAddress, toAccountCapsule);
+      } else {
+        putAccount(toAddress, toAccountCapsule);
+      }
 
       ret.setStatus(fee, code.SUCESS);
     } catch (BalanceInsufficientException e) {
@@ -139,7 +140,7 @@ public class TransferAssetActuator extends AbstractActuator {
       throw new ContractValidateException("Cannot transfer asset to yourself.");
     }
 
-    AccountCapsule ownerAccount = accountStore.get(ownerAddress);
+    AccountCapsule ownerAccount = getAccount(ownerAddress);
     if (ownerAccount == null) {
       throw new ContractValidateException("No owner account!");
     }
@@ -166,7 +167,7 @@ public class TransferAssetActuator extends AbstractActuator {
       throw new ContractValidateException("assetBalance is not sufficient.");
     }
 
-    AccountCapsule toAccount = accountStore.get(toAddress);
+    AccountCapsule toAccount = getAccount(toAddress);
     if (toAccount != null) {
       if (dynamicStore.getAllowSameTokenName() == 0) {
         assetBalance = toAccount.getAssetMap().get(ByteArray.toStr(assetName));
@@ -182,7 +183,7 @@ public class TransferAssetActuator extends AbstractActuator {
         }
       }
     } else {
-      fee = fee + dynamicStore.getCreateNewAccountFeeInSystemContract();
+      fee = fee + getCreateNewAccountFee();
       if (ownerAccount.getBalance() < fee) {
         throw new ContractValidateException(
             "Validate TransferAssetActuator error, insufficient fee.");
@@ -0,0 +1,130 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.List;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.AssetIssueStore;
+import org.tron.core.store.AssetIssueV2Store;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Contract.TransferAssetContract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Validates and executes a run of consecutive transactions of one transfer type together. The
+ * actuators share an {@link AccountOverlay}, so a sender that appears many times is read once,
+ * the blackhole fee is accumulated in one capsule and every touched account is written once at
+ * the end of the batch. The results are those of validating and executing the transactions one
+ * by one.
+ *
+ * <p>If a transaction fails validation or execution the exception is thrown and nothing of the
+ * batch has been written, where the one by one loop would have written the transactions before
+ * it; either way the block is invalid and reverted by the caller.
+ */
+public final class TransferBatchExecutor {
+
+  private final AccountStore accountStore;
+  private final AssetIssueStore assetIssueStore;
+  private final AssetIssueV2Store assetIssueV2Store;
+  private final DynamicPropertiesStore dynamicStore;
+  private UndoJournal undoJournal = UndoJournal.NONE;
+
+  public TransferBatchExecutor(AccountStore accountStore, AssetIssueStore assetIssueStore,
+      AssetIssueV2Store assetIssueV2Store, DynamicPropertiesStore dynamicStore) {
+    this.accountStore = accountStore;
+    this.assetIssueStore = assetIssueStore;
+    this.assetIssueV2Store = assetIssueV2Store;
+    this.dynamicStore = dynamicStore;
+  }
+
+  public static boolean supports(ContractType type) {
+    return type == ContractType.TransferContract || type == ContractType.TransferAssetContract;
+  }
+
+  public void setUndoJournal(UndoJournal undoJournal) {
+    this.undoJournal = undoJournal == null ? UndoJournal.NONE : undoJournal;
+  }
+
+  public List<TransactionResultCapsule> executeBatch(ContractType type, List<Any> contracts)
+      throws ContractValidateException, ContractExeException {
+    AccountOverlay overlay = new AccountOverlay(accountStore, dynamicStore);
+    if (sendsToBlackhole(type, contracts, overlay.getBlackholeAddress())) {
+      // TransferAsset writes back a recipient read before the fee was paid, which loses the fee
+      // when the recipient is the blackhole; only the one by one path reproduces that
+      overlay = null;
+    }
+
+    List<TransactionResultCapsule> results = new ArrayList<>(contracts.size());
+    for (Any contract : contracts) {
+      AbstractActuator actuator = create(type, contract);
+      actuator.setUndoJournal(undoJournal);
+      actuator.setAccountOverlay(overlay);
+      actuator.validate();
+      TransactionResultCapsule result = new TransactionResultCapsule();
+      actuator.execute(result);
+      results.add(result);
+    }
+    if (overlay != null) {
+      overlay.flush(undoJournal);
+    }
+    return results;
+  }
+
+  /**
+   * Validates every contract against the current state, as the mempool does for incoming
+   * transactions; accounts read by several contracts are read once.
+   *
+   * @return per contract the validation failure, or null if it is valid.
+   */
+  public List<ContractValidateException> validateBatch(ContractType type, List<Any> contracts) {
+    AccountOverlay overlay = new AccountOverlay(accountStore, dynamicStore);
+    List<ContractValidateException> results = new ArrayList<>(contracts.size());
+    for (Any contract : contracts) {
+      AbstractActuator actuator = create(type, contract);
+      actuator.setAccountOverlay(overlay);
+      try {
+        actuator.validate();
+        results.add(null);
+      } catch (ContractValidateException e) {
+        results.add(e);
+      }
+    }
+    return results;
+  }
+
+  private AbstractActuator create(ContractType type, Any contract) {
+    switch (type) {
+      case TransferContract:
+        return new TransferActuator(contract, accountStore, assetIssueStore, dynamicStore);
+      case TransferAssetContract:
+        return new TransferAssetActuator(contract, accountStore, dynamicStore, assetIssueStore,
+            assetIssueV2Store);
+      default:
+        throw new IllegalArgumentException("no batch execution for " + type);
+    }
+  }
+
+  private static boolean sendsToBlackhole(ContractType type, List<Any> contracts,
+      byte[] blackholeAddress) {
+    if (type != ContractType.TransferAssetContract) {
+      return false;
+    }
+    ByteString blackhole = ByteString.copyFrom(blackholeAddress);
+    for (Any contract : contracts) {
+      try {
+        if (contract.is(TransferAssetContract.class) && blackhole
+            .equals(contract.unpack(TransferAssetContract.class).getToAddress())) {
+          return true;
+        }
+      } catch (InvalidProtocolBufferException e) {
+        // validate reports it
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,112 @@
+package org.tron.core.actuator;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import org.tron.core.db2.core.ITronChainBase;
+
+/**
+ * Previous values of everything one transaction, or one block, wrote through the actuators, so
+ * the writes can be undone in O(keys touched) instead of relying on a snapshot layer per
+ * transaction. Only the first write of a key is captured. Writes made inside chainbase helpers
+ * the actuators cannot see into mark the journal incomplete; such a journal refuses to roll back
+ * and the caller has to revert through its snapshot instead.
+ *
+ * <p>Rolling back also undoes what the actuators keep outside the stores: restored accounts are
+ * dropped from the {@link OffHeapAccountCache}, and the {@link VoteTally}, proposal expiry index
+ * and {@link AccountOrdinalIndex} are reverted by the actions recorded with them.
+ */
+public class UndoJournal {
+
+  public static final UndoJournal NONE = new UndoJournal(false);
+
+  private final boolean enabled;
+  private final Deque<Runnable> undos = new ArrayDeque<>();
+  private final Set<CapturedKey> captured = new HashSet<>();
+  private boolean complete = true;
+
+  public UndoJournal() {
+    this(true);
+  }
+
+  private UndoJournal(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public <T> void capture(ITronChainBase<T> store, byte[] key) {
+    if (!enabled || !captured.add(new CapturedKey(store, key))) {
+      return;
+    }
+    byte[] keyCopy = key.clone();
+    T previous = store.getUnchecked(keyCopy);
+    undos.push(() -> {
+      if (previous == null) {
+        store.delete(keyCopy);
+      } else {
+        store.put(keyCopy, previous);
+      }
+      OffHeapAccountCache.getInstance().invalidate(store, keyCopy);
+    });
+  }
+
+  /**
+   * Record a compensating action, for state that is not written by key, such as the counters
+   * of the dynamic properties store or the indexes kept in memory by the actuators.
+   */
+  public void record(Runnable undo) {
+    if (enabled) {
+      undos.push(undo);
+    }
+  }
+
+  public void markIncomplete() {
+    complete = false;
+  }
+
+  public boolean isComplete() {
+    return enabled && complete;
+  }
+
+  public void rollback() {
+    if (!isComplete()) {
+      throw new IllegalStateException("undo journal is incomplete, revert the snapshot instead");
+    }
+    while (!undos.isEmpty()) {
+      undos.pop().run();
+    }
+    clear();
+  }
+
+  public void clear() {
+    undos.clear();
+    captured.clear();
+    complete = true;
+  }
+
+  private static final class CapturedKey {
+
+    private final ITronChainBase<?> store;
+    private final ByteBuffer key;
+
+    private CapturedKey(ITronChainBase<?> store, byte[] key) {
+      this.store = store;
+      this.key = ByteBuffer.wrap(key.clone());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof CapturedKey)) {
+        return false;
+      }
+      CapturedKey that = (CapturedKey) o;
+      return store == that.store && key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(store) * 31 + key.hashCode();
+    }
+  }
+}
@@ -35,7 +35,7 @@ public class UnfreezeAssetActuator extends AbstractActuator {
           .unpack(UnfreezeAssetContract.class);
       byte[] ownerAddress = unfreezeAssetContract.getOwnerAddress().toByteArray();
 
-      AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+      AccountCapsule accountCapsule = getAccount(ownerAddress);
       long unfreezeAsset = 0L;
       List<Frozen> frozenList = Lists.newArrayList();
       frozenList.addAll(accountCapsule.getFrozenSupplyList());
@@ -62,7 +62,7 @@ public class UnfreezeAssetActuator extends AbstractActuator {
       accountCapsule.setInstance(accountCapsule.getInstance().toBuilder()
           .clearFrozenSupply().addAllFrozenSupply(frozenList).build());
 
-      accountStore.put(ownerAddress, accountCapsule);
+      putAccount(ownerAddress, accountCapsule);
       ret.setStatus(fee, code.SUCESS);
     } catch (InvalidProtocolBufferException e) {
       logger.debug(e.getMessage(), e);
@@ -102,7 +102,7 @@ public class UnfreezeAssetActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid address");
     }
 
-    AccountCapsule accountCapsule =accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule =getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
@@ -6,6 +6,7 @@ import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
@@ -29,6 +30,7 @@ import org.tron.protos.Protocol.Account.AccountResource;
 import org.tron.protos.Protocol.Account.Frozen;
 import org.tron.protos.Protocol.AccountType;
 import org.tron.protos.Protocol.Transaction.Result.code;
+import org.tron.protos.Protocol.Vote;
 
 @Slf4j(topic = "actuator")
 public class UnfreezeBalanceActuator extends AbstractActuator {
@@ -52,7 +54,7 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
     }
     byte[] ownerAddress = unfreezeBalanceContract.getOwnerAddress().toByteArray();
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     long oldBalance = accountCapsule.getBalance();
 
     long unfreezeBalance = 0L;
@@ -63,8 +65,7 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
     //otherwise,unfreeze delegated frozen balance provided this accountStore.
     if (!ArrayUtils.isEmpty(receiverAddress) && dynamicStore.supportDR()) {
       byte[] key = DelegatedResourceCapsule
-          .createDbKey(unfreezeBalanceContract.getOwnerAddress().toByteArray(),
-              unfreezeBalanceContract.getReceiverAddress().toByteArray());
+          .createDbKey(ownerAddress, receiverAddress);
       DelegatedResourceCapsule delegatedResourceCapsule = delegatedResourceStore
           .get(key);
 
@@ -84,7 +85,7 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
           break;
       }
 
-      AccountCapsule receiverCapsule = accountStore.get(receiverAddress);
+      AccountCapsule receiverCapsule = getAccount(receiverAddress);
       if (dynamicStore.getAllowTvmConstantinople() == 0 ||
           (receiverCapsule != null && receiverCapsule.getType() != AccountType.Contract)) {
         switch (unfreezeBalanceContract.getResource()) {
@@ -98,13 +99,14 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
             //this should never happen
             break;
         }
-        accountStore.put(receiverCapsule.createDbKey(), receiverCapsule);
+        putAccount(receiverCapsule.createDbKey(), receiverCapsule);
       }
 
       accountCapsule.setBalance(oldBalance + unfreezeBalance);
 
       if (delegatedResourceCapsule.getFrozenBalanceForBandwidth() == 0
           && delegatedResourceCapsule.getFrozenBalanceForEnergy() == 0) {
+        undoJournal.capture(delegatedResourceStore, key);
         delegatedResourceStore.delete(key);
 
         //modify DelegatedResourceAccountIndexStore
@@ -114,8 +116,9 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
           if (delegatedResourceAccountIndexCapsule != null) {
             List<ByteString> toAccountsList = new ArrayList<>(delegatedResourceAccountIndexCapsule
                 .getToAccountsList());
-            toAccountsList.remove(ByteString.copyFrom(receiverAddress));
+            toAccountsList.remove(unfreezeBalanceContract.getReceiverAddress());
             delegatedResourceAccountIndexCapsule.setAllToAccounts(toAccountsList);
+            undoJournal.capture(delegatedResourceAccountIndexStore, ownerAddress);
             delegatedResourceAccountIndexStore
                 .put(ownerAddress, delegatedResourceAccountIndexCapsule);
           }
@@ -127,14 +130,16 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
           if (delegatedResourceAccountIndexCapsule != null) {
             List<ByteString> fromAccountsList = new ArrayList<>(delegatedResourceAccountIndexCapsule
                 .getFromAccountsList());
-            fromAccountsList.remove(ByteString.copyFrom(ownerAddress));
+            fromAccountsList.remove(unfreezeBalanceContract.getOwnerAddress());
             delegatedResourceAccountIndexCapsule.setAllFromAccounts(fromAccountsList);
+            undoJournal.capture(delegatedResourceAccountIndexStore, receiverAddress);
             delegatedResourceAccountIndexStore
                 .put(receiverAddress, delegatedResourceAccountIndexCapsule);
           }
         }
 
       } else {
+        undoJournal.capture(delegatedResourceStore, key);
         delegatedResourceStore.put(key, delegatedResourceCapsule);
       }
     } else {
@@ -178,12 +183,14 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
 
     switch (unfreezeBalanceContract.getResource()) {
       case BANDWIDTH:
-        dynamicStore
-            .addTotalNetWeight(-unfreezeBalance / 1000_000L);
+        long removedNetWeight = unfreezeBalance / 1000_000L;
+        undoJournal.record(() -> dynamicStore.addTotalNetWeight(removedNetWeight));
+        dynamicStore.addTotalNetWeight(-removedNetWeight);
         break;
       case ENERGY:
-        dynamicStore
-            .addTotalEnergyWeight(-unfreezeBalance / 1000_000L);
+        long removedEnergyWeight = unfreezeBalance / 1000_000L;
+        undoJournal.record(() -> dynamicStore.addTotalEnergyWeight(removedEnergyWeight));
+        dynamicStore.addTotalEnergyWeight(-removedEnergyWeight);
         break;
       default:
         //this should never happen
@@ -197,12 +204,17 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
     } else {
       votesCapsule = votesStore.get(ownerAddress);
     }
+    List<Vote> oldVotes = accountCapsule.getVotesList();
     accountCapsule.clearVotes();
     votesCapsule.clearNewVotes();
 
-    accountStore.put(ownerAddress, accountCapsule);
+    putAccount(ownerAddress, accountCapsule);
 
+    undoJournal.capture(votesStore, ownerAddress);
     votesStore.put(ownerAddress, votesCapsule);
+    VoteTally voteTally = VoteTally.getInstance();
+    applyEffect(() -> voteTally.replaceVotes(oldVotes, Collections.emptyList()),
+        () -> voteTally.replaceVotes(Collections.emptyList(), oldVotes));
 
     ret.setUnfreezeAmount(unfreezeBalance);
     ret.setStatus(fee, code.SUCESS);
@@ -235,7 +247,7 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid address");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
@@ -255,7 +267,7 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
         throw new ContractValidateException("Invalid receiverAddress");
       }
 
-      AccountCapsule receiverCapsule = accountStore.get(receiverAddress);
+      AccountCapsule receiverCapsule = getAccount(receiverAddress);
       if (dynamicStore.getAllowTvmConstantinople() == 0
           && receiverCapsule == null) {
         String readableReceiverAddress = StringUtil.createReadableString(receiverAddress);
@@ -264,8 +276,7 @@ public class UnfreezeBalanceActuator extends AbstractActuator {
       }
 
       byte[] key = DelegatedResourceCapsule
-          .createDbKey(unfreezeBalanceContract.getOwnerAddress().toByteArray(),
-              unfreezeBalanceContract.getReceiverAddress().toByteArray());
+          .createDbKey(ownerAddress, receiverAddress);
       DelegatedResourceCapsule delegatedResourceCapsule = delegatedResourceStore
           .get(key);
       if (delegatedResourceCapsule == null) {
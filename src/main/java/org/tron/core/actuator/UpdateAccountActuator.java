@@ -36,10 +36,12 @@ public class UpdateAccountActuator extends AbstractActuator {
     }
 
     byte[] ownerAddress = accountUpdateContract.getOwnerAddress().toByteArray();
-    AccountCapsule account = accountStore.get(ownerAddress);
+    AccountCapsule account = getAccount(ownerAddress);
 
     account.setAccountName(accountUpdateContract.getAccountName().toByteArray());
-    accountStore.put(ownerAddress, account);
+    putAccount(ownerAddress, account);
+    // the index key is derived inside the store, so this write cannot be journaled
+    undoJournal.markIncomplete();
     accountIdIndexStore.put(account);
 
     ret.setStatus(fee, code.SUCESS);
@@ -76,7 +78,7 @@ public class UpdateAccountActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid ownerAddress");
     }
 
-    AccountCapsule account = accountStore.get(ownerAddress);
+    AccountCapsule account = getAccount(ownerAddress);
     if (account == null) {
       throw new ContractValidateException("Account has not existed");
     }
@@ -41,7 +41,7 @@ public class UpdateAssetActuator extends AbstractActuator {
       ByteString newUrl = updateAssetContract.getUrl();
       ByteString newDescription = updateAssetContract.getDescription();
 
-      AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+      AccountCapsule accountCapsule = getAccount(ownerAddress);
 
       AssetIssueCapsule assetIssueCapsule, assetIssueCapsuleV2;
 
@@ -59,11 +59,14 @@ public class UpdateAssetActuator extends AbstractActuator {
         assetIssueCapsule.setUrl(newUrl);
         assetIssueCapsule.setDescription(newDescription);
 
+        undoJournal.capture(assetIssueStore, assetIssueCapsule.createDbKey());
         assetIssueStore
             .put(assetIssueCapsule.createDbKey(), assetIssueCapsule);
+        undoJournal.capture(assetIssueV2Store, assetIssueCapsuleV2.createDbV2Key());
         assetIssueV2Store
             .put(assetIssueCapsuleV2.createDbV2Key(), assetIssueCapsuleV2);
       } else {
+        undoJournal.capture(assetIssueV2Store, assetIssueCapsuleV2.createDbV2Key());
         assetIssueV2Store
             .put(assetIssueCapsuleV2.createDbV2Key(), assetIssueCapsuleV2);
       }
@@ -110,7 +113,7 @@ public class UpdateAssetActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid ownerAddress");
     }
 
-    AccountCapsule account = accountStore.get(ownerAddress);
+    AccountCapsule account = getAccount(ownerAddress);
     if (account == null) {
       throw new ContractValidateException("Account has not existed");
     }
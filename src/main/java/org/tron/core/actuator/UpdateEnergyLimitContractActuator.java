@@ -35,8 +35,9 @@ public class UpdateEnergyLimitContractActuator extends AbstractActuator {
           .unpack(UpdateEnergyLimitContract.class);
       long newOriginEnergyLimit = usContract.getOriginEnergyLimit();
       byte[] contractAddress = usContract.getContractAddress().toByteArray();
-      ContractCapsule deployedContract = contractStore.get(contractAddress);
+      ContractCapsule deployedContract = takeDeployedContract(contractAddress);
 
+      undoJournal.capture(contractStore, contractAddress);
       contractStore.put(contractAddress, new ContractCapsule(
           deployedContract.getInstance().toBuilder().setOriginEnergyLimit(newOriginEnergyLimit)
               .build()));
@@ -82,7 +83,7 @@ public class UpdateEnergyLimitContractActuator extends AbstractActuator {
     String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
 
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       throw new ContractValidateException(
           "Account[" + readableOwnerAddress + "] not exists");
@@ -95,7 +96,7 @@ public class UpdateEnergyLimitContractActuator extends AbstractActuator {
     }
 
     byte[] contractAddress = contract.getContractAddress().toByteArray();
-    ContractCapsule deployedContract = contractStore.get(contractAddress);
+    ContractCapsule deployedContract = loadDeployedContract(contractAddress);
 
     if (deployedContract == null) {
       throw new ContractValidateException(
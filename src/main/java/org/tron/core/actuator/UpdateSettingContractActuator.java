@@ -32,8 +32,9 @@ public class UpdateSettingContractActuator extends AbstractActuator {
           .unpack(UpdateSettingContract.class);
       long newPercent = usContract.getConsumeUserResourcePercent();
       byte[] contractAddress = usContract.getContractAddress().toByteArray();
-      ContractCapsule deployedContract = contractStore.get(contractAddress);
+      ContractCapsule deployedContract = takeDeployedContract(contractAddress);
 
+      undoJournal.capture(contractStore, contractAddress);
       contractStore.put(contractAddress, new ContractCapsule(
           deployedContract.getInstance().toBuilder().setConsumeUserResourcePercent(newPercent)
               .build()));
@@ -75,7 +76,7 @@ public class UpdateSettingContractActuator extends AbstractActuator {
     String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
 
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
     if (accountCapsule == null) {
       throw new ContractValidateException(
           "Account[" + readableOwnerAddress + "] not exists");
@@ -88,7 +89,7 @@ public class UpdateSettingContractActuator extends AbstractActuator {
     }
 
     byte[] contractAddress = contract.getContractAddress().toByteArray();
-    ContractCapsule deployedContract = contractStore.get(contractAddress);
+    ContractCapsule deployedContract = loadDeployedContract(contractAddress);
 
     if (deployedContract == null) {
       throw new ContractValidateException(
@@ -0,0 +1,145 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.tron.protos.Protocol.Vote;
+
+/**
+ * Net vote change per witness since the last maintenance, fed by the actuators that rewrite an
+ * account's votes. It tracks what the maintenance recount derives from the old and new vote
+ * lists in the votes store only as long as every block the actuators execute is either
+ * committed or passed to {@link #discardBlock()}.
+ *
+ * <p>The tally is advisory: it must not decide the election or anything else in consensus. The
+ * votes store is reverted by revoking database sessions, for pending transactions and fork
+ * switches, and this class never sees those resets, so {@link #summary()} can drift from the
+ * store. Maintenance has to recount from the votes store; the summary is for monitoring and for
+ * comparing against that recount.
+ *
+ * <p>Deltas of the block being applied are staged until {@link #commitBlock()}, and dropped by
+ * {@link #discardBlock()}. The tally is inactive until {@link #startCycle()} or
+ * {@link #readFrom}; a caller that cannot replay a reverted, already committed block has to
+ * {@link #deactivate()} it.
+ *
+ * <p>Deltas recorded while the next block is executed speculatively are held back by
+ * {@link SpeculativeEffects} and only reach the pending block if the speculation is promoted.
+ */
+public final class VoteTally {
+
+  private static final VoteTally INSTANCE = new VoteTally();
+
+  private final WitnessOrdinals ordinals = WitnessOrdinals.getInstance();
+  private long[] committed = new long[32];
+  private long[] pending = new long[32];
+  private boolean active;
+
+  private VoteTally() {
+  }
+
+  public static VoteTally getInstance() {
+    return INSTANCE;
+  }
+
+  public synchronized boolean isActive() {
+    return active;
+  }
+
+  public synchronized void startCycle() {
+    Arrays.fill(committed, 0L);
+    Arrays.fill(pending, 0L);
+    active = true;
+  }
+
+  public synchronized void deactivate() {
+    active = false;
+  }
+
+  /**
+   * Record that an account's votes were replaced, {@code oldVotes} being what the account held
+   * before and {@code newVotes} what it holds now.
+   */
+  public synchronized void replaceVotes(List<Vote> oldVotes, List<Vote> newVotes) {
+    if (!active) {
+      return;
+    }
+    for (Vote vote : oldVotes) {
+      int ordinal = ordinal(vote.getVoteAddress());
+      pending[ordinal] -= vote.getVoteCount();
+    }
+    for (Vote vote : newVotes) {
+      int ordinal = ordinal(vote.getVoteAddress());
+      pending[ordinal] += vote.getVoteCount();
+    }
+  }
+
+  public synchronized void commitBlock() {
+    for (int i = 0; i < committed.length; i++) {
+      committed[i] += pending[i];
+      pending[i] = 0L;
+    }
+  }
+
+  public synchronized void discardBlock() {
+    Arrays.fill(pending, 0L);
+  }
+
+  /**
+   * @return the committed, non zero vote delta of each witness in this cycle.
+   */
+  public synchronized Map<ByteString, Long> summary() {
+    if (!active) {
+      throw new IllegalStateException("vote tally is not active");
+    }
+    Map<ByteString, Long> summary = new LinkedHashMap<>();
+    for (int i = 0; i < committed.length; i++) {
+      if (committed[i] != 0L) {
+        summary.put(ordinals.witness(i), committed[i]);
+      }
+    }
+    return summary;
+  }
+
+  public synchronized void writeTo(OutputStream out) throws IOException {
+    Map<ByteString, Long> summary = summary();
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(summary.size());
+    for (Map.Entry<ByteString, Long> entry : summary.entrySet()) {
+      data.writeInt(entry.getKey().size());
+      entry.getKey().writeTo(data);
+      data.writeLong(entry.getValue());
+    }
+    data.flush();
+  }
+
+  public synchronized void readFrom(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    Arrays.fill(committed, 0L);
+    Arrays.fill(pending, 0L);
+    int size = data.readInt();
+    for (int i = 0; i < size; i++) {
+      byte[] address = new byte[data.readInt()];
+      data.readFully(address);
+      int ordinal = ordinal(ByteString.copyFrom(address));
+      committed[ordinal] = data.readLong();
+    }
+    active = true;
+  }
+
+  private int ordinal(ByteString witness) {
+    int ordinal = ordinals.ordinal(witness);
+    if (ordinal >= committed.length) {
+      int length = Math.max(committed.length * 2, ordinal + 1);
+      committed = Arrays.copyOf(committed, length);
+      pending = Arrays.copyOf(pending, length);
+    }
+    return ordinal;
+  }
+}
@@ -9,6 +9,7 @@ import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import lombok.extern.slf4j.Slf4j;
 import org.tron.common.utils.ByteArray;
@@ -25,6 +26,7 @@ import org.tron.core.store.VotesStore;
 import org.tron.core.store.WitnessStore;
 import org.tron.protos.Contract.VoteWitnessContract;
 import org.tron.protos.Contract.VoteWitnessContract.Vote;
+import org.tron.protos.Protocol;
 import org.tron.protos.Protocol.Transaction.Result.code;
 
 @Slf4j(topic = "actuator")
@@ -111,7 +113,7 @@ public class VoteWitnessActuator extends AbstractActuator {
       }
 
       AccountCapsule accountCapsule =
-          accountStore.get(ownerAddress);
+          getAccount(ownerAddress);
       if (accountCapsule == null) {
         throw new ContractValidateException(
             ACCOUNT_EXCEPTION_STR + readableOwnerAddress + NOT_EXIST_STR);
@@ -137,7 +139,7 @@ public class VoteWitnessActuator extends AbstractActuator {
     byte[] ownerAddress = voteContract.getOwnerAddress().toByteArray();
 
     VotesCapsule votesCapsule;
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
 
     if (!votesStore.has(ownerAddress)) {
       votesCapsule = new VotesCapsule(voteContract.getOwnerAddress(),
@@ -146,6 +148,7 @@ public class VoteWitnessActuator extends AbstractActuator {
       votesCapsule = votesStore.get(ownerAddress);
     }
 
+    List<Protocol.Vote> oldVotes = accountCapsule.getVotesList();
     accountCapsule.clearVotes();
     votesCapsule.clearNewVotes();
 
@@ -157,8 +160,13 @@ public class VoteWitnessActuator extends AbstractActuator {
       accountCapsule.addVotes(vote.getVoteAddress(), vote.getVoteCount());
     });
 
-    accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+    putAccount(accountCapsule.createDbKey(), accountCapsule);
+    undoJournal.capture(votesStore, ownerAddress);
     votesStore.put(ownerAddress, votesCapsule);
+    List<Protocol.Vote> newVotes = accountCapsule.getVotesList();
+    VoteTally voteTally = VoteTally.getInstance();
+    applyEffect(() -> voteTally.replaceVotes(oldVotes, newVotes),
+        () -> voteTally.replaceVotes(newVotes, oldVotes));
 
   }
 
@@ -52,7 +52,7 @@ public class WithdrawBalanceActuator extends AbstractActuator {
         .setAllowance(0L)
         .setLatestWithdrawTime(now)
         .build());
-    accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+    putAccount(accountCapsule.createDbKey(), accountCapsule);
 
     ret.setWithdrawAmount(allowance);
     ret.setStatus(fee, code.SUCESS);
@@ -86,7 +86,7 @@ public class WithdrawBalanceActuator extends AbstractActuator {
     }
 
     AccountCapsule accountCapsule =
-        accountStore.get(ownerAddress);
+        getAccount(ownerAddress);
     if (accountCapsule == null) {
       String readableOwnerAddress = StringUtil.createReadableString(ownerAddress);
       throw new ContractValidateException(
@@ -77,7 +77,7 @@ public class WitnessCreateActuator extends AbstractActuator {
       throw new ContractValidateException("Invalid url");
     }
 
-    AccountCapsule accountCapsule = accountStore.get(ownerAddress);
+    AccountCapsule accountCapsule = getAccount(ownerAddress);
 
     if (accountCapsule == null) {
       throw new ContractValidateException("accountStore[" + readableOwnerAddress + "] not exists");
@@ -118,19 +118,20 @@ public class WitnessCreateActuator extends AbstractActuator {
         witnessCreateContract.getUrl().toStringUtf8());
 
     logger.debug("createWitness,address[{}]", witnessCapsule.createReadableString());
+    undoJournal.capture(witnessStore, witnessCapsule.createDbKey());
     witnessStore.put(witnessCapsule.createDbKey(), witnessCapsule);
-    AccountCapsule accountCapsule = accountStore
-        .get(witnessCapsule.createDbKey());
+    AccountCapsule accountCapsule = getAccount(witnessCapsule.createDbKey());
     accountCapsule.setIsWitness(true);
     if (dynamicStore.getAllowMultiSign() == 1) {
       accountCapsule.setDefaultWitnessPermission(dynamicStore);
     }
-    accountStore.put(accountCapsule.createDbKey(), accountCapsule);
+    putAccount(accountCapsule.createDbKey(), accountCapsule);
     long cost = dynamicStore.getAccountUpgradeCost();
-    Commons.adjustBalance(accountStore, witnessCreateContract.getOwnerAddress().toByteArray(), -cost);
+    adjustBalance(witnessCreateContract.getOwnerAddress().toByteArray(), -cost);
 
-    Commons.adjustBalance(accountStore, accountStore.getBlackhole().createDbKey(), +cost);
+    adjustBlackholeBalance(cost);
 
+    undoJournal.record(() -> dynamicStore.addTotalCreateWitnessCost(-cost));
     dynamicStore.addTotalCreateWitnessCost(cost);
   }
 }
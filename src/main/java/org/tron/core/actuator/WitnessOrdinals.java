@@ -0,0 +1,52 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense, append-only numbering of witness addresses, so per-witness state can be kept in arrays
+ * and bitsets. An address keeps its ordinal for the life of the process; an ordinal assigned in
+ * a block that is later reverted stays assigned, which only leaves a slot unused, so the
+ * numbering carries no chain state.
+ */
+public final class WitnessOrdinals {
+
+  private static final WitnessOrdinals INSTANCE = new WitnessOrdinals();
+
+  private final Map<ByteString, Integer> ordinals = new ConcurrentHashMap<>();
+  private final List<ByteString> witnesses = new ArrayList<>();
+
+  private WitnessOrdinals() {
+  }
+
+  public static WitnessOrdinals getInstance() {
+    return INSTANCE;
+  }
+
+  public int ordinal(ByteString witness) {
+    Integer ordinal = ordinals.get(witness);
+    if (ordinal != null) {
+      return ordinal;
+    }
+    synchronized (this) {
+      ordinal = ordinals.get(witness);
+      if (ordinal == null) {
+        ordinal = witnesses.size();
+        witnesses.add(witness);
+        ordinals.put(witness, ordinal);
+      }
+      return ordinal;
+    }
+  }
+
+  public synchronized ByteString witness(int ordinal) {
+    return witnesses.get(ordinal);
+  }
+
+  public synchronized int size() {
+    return witnesses.size();
+  }
+}
@@ -26,6 +26,7 @@ public class WitnessUpdateActuator extends AbstractActuator {
     WitnessCapsule witnessCapsule = witnessStore
         .get(contract.getOwnerAddress().toByteArray());
     witnessCapsule.setUrl(contract.getUpdateUrl().toStringUtf8());
+    undoJournal.capture(witnessStore, witnessCapsule.createDbKey());
     witnessStore.put(witnessCapsule.createDbKey(), witnessCapsule);
   }
 
@@ -0,0 +1,36 @@
+package org.tron.core.actuator.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.tron.Actuator")
+@Label("Actuator")
+@Category({"Tron", "Actuator"})
+@Description("One validate or execute call of a transaction actuator")
+@StackTrace(false)
+final class ActuatorEvent extends Event {
+
+  @Label("Contract Type")
+  String contractType;
+
+  @Label("Phase")
+  String phase;
+
+  @Label("Owner Address Hash")
+  int ownerAddressHash;
+
+  @Label("Store Reads")
+  @Description("Account store reads through the actuator helpers, plus other reported reads")
+  long storeReads;
+
+  @Label("Store Writes")
+  @Description("Account store writes through the actuator helpers, plus other reported writes")
+  long storeWrites;
+
+  @Label("Result")
+  String result;
+}
@@ -0,0 +1,65 @@
+package org.tron.core.actuator.metrics;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import jdk.jfr.EventType;
+import org.tron.core.actuator.Actuator;
+import org.tron.core.actuator.metrics.ActuatorMetrics.Scope;
+import org.tron.core.actuator.metrics.MetricsSink.Phase;
+import org.tron.protos.Protocol.Transaction.Result.code;
+
+/**
+ * Flight Recorder side of {@link InstrumentedActuator}. Only touched once
+ * {@link #AVAILABLE} says the running JVM has {@code jdk.jfr}, and events are only created
+ * while a recording enables them. Compiling it needs the API, JDK 8u262 or later.
+ */
+final class ActuatorEvents {
+
+  static final boolean AVAILABLE = isJfrAvailable();
+
+  private ActuatorEvents() {
+  }
+
+  static boolean isEnabled() {
+    return AVAILABLE && Holder.EVENT_TYPE.isEnabled();
+  }
+
+  static Object begin() {
+    ActuatorEvent event = new ActuatorEvent();
+    event.begin();
+    return event;
+  }
+
+  static void commit(Object started, Actuator actuator, Phase phase, Scope scope,
+      boolean success) {
+    ActuatorEvent event = (ActuatorEvent) started;
+    event.end();
+    if (!event.shouldCommit()) {
+      return;
+    }
+    event.contractType = scope.getContractType().name();
+    event.phase = phase.name();
+    try {
+      event.ownerAddressHash = actuator.getOwnerAddress().hashCode();
+    } catch (InvalidProtocolBufferException e) {
+      event.ownerAddressHash = 0;
+    }
+    event.storeReads = scope.getReads();
+    event.storeWrites = scope.getWrites();
+    event.result = (success ? code.SUCESS : code.FAILED).name();
+    event.commit();
+  }
+
+  private static boolean isJfrAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, ActuatorEvents.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static final class Holder {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(ActuatorEvent.class);
+  }
+}
@@ -0,0 +1,96 @@
+package org.tron.core.actuator.metrics;
+
+import org.tron.core.actuator.metrics.MetricsSink.StoreOperation;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Process wide metrics sink, {@link MetricsSink#NOOP} until one is installed. Store calls are
+ * attributed to the contract type of the {@link InstrumentedActuator} running on the calling
+ * thread. The account reads and writes made through the AbstractActuator helpers are reported
+ * here; calls to other stores, which live outside this module, are reported through
+ * {@link #recordStoreCall} by whatever wraps them.
+ */
+public final class ActuatorMetrics {
+
+  private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+
+  private static volatile MetricsSink sink = MetricsSink.NOOP;
+
+  private ActuatorMetrics() {
+  }
+
+  public static MetricsSink getSink() {
+    return sink;
+  }
+
+  public static void setSink(MetricsSink metricsSink) {
+    sink = metricsSink == null ? MetricsSink.NOOP : metricsSink;
+  }
+
+  public static boolean isEnabled() {
+    return sink != MetricsSink.NOOP;
+  }
+
+  /**
+   * Whether store calls on this thread are attributed to an actuator, so callers can skip
+   * measuring a call nobody records.
+   */
+  public static boolean isTracking() {
+    return CURRENT_SCOPE.get() != null;
+  }
+
+  public static void recordStoreCall(String storeName, StoreOperation operation, long bytes) {
+    Scope scope = CURRENT_SCOPE.get();
+    if (scope == null) {
+      return;
+    }
+    if (operation == StoreOperation.PUT || operation == StoreOperation.DELETE) {
+      scope.writes++;
+    } else {
+      scope.reads++;
+    }
+    MetricsSink current = sink;
+    if (current != MetricsSink.NOOP) {
+      current.recordStoreCall(scope.contractType, storeName, operation, bytes);
+    }
+  }
+
+  static Scope enter(ContractType contractType) {
+    Scope scope = new Scope(contractType, CURRENT_SCOPE.get());
+    CURRENT_SCOPE.set(scope);
+    return scope;
+  }
+
+  static void exit(Scope scope) {
+    if (scope.previous == null) {
+      CURRENT_SCOPE.remove();
+    } else {
+      CURRENT_SCOPE.set(scope.previous);
+    }
+  }
+
+  static final class Scope {
+
+    private final ContractType contractType;
+    private final Scope previous;
+    private long reads;
+    private long writes;
+
+    private Scope(ContractType contractType, Scope previous) {
+      this.contractType = contractType;
+      this.previous = previous;
+    }
+
+    ContractType getContractType() {
+      return contractType;
+    }
+
+    long getReads() {
+      return reads;
+    }
+
+    long getWrites() {
+      return writes;
+    }
+  }
+}
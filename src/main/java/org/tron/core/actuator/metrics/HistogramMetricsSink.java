@@ -0,0 +1,104 @@
+package org.tron.core.actuator.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * In-process {@link MetricsSink} keeping a {@link LatencyHistogram} per contract type and phase,
+ * and call and byte counters per contract type, store and operation.
+ */
+public class HistogramMetricsSink implements MetricsSink {
+
+  private final Map<ContractType, Map<Phase, LatencyHistogram>> latencies =
+      new ConcurrentHashMap<>();
+  private final Map<StoreCallKey, StoreCallCounter> storeCalls = new ConcurrentHashMap<>();
+
+  @Override
+  public void recordLatency(ContractType contractType, Phase phase, long nanos) {
+    getHistogram(contractType, phase).record(nanos);
+  }
+
+  @Override
+  public void recordStoreCall(ContractType contractType, String storeName,
+      StoreOperation operation, long bytes) {
+    StoreCallCounter counter = storeCalls.computeIfAbsent(
+        new StoreCallKey(contractType, storeName, operation), k -> new StoreCallCounter());
+    counter.calls.increment();
+    counter.bytes.add(bytes);
+  }
+
+  public LatencyHistogram getHistogram(ContractType contractType, Phase phase) {
+    return latencies.computeIfAbsent(contractType, k -> {
+      Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+      for (Phase p : Phase.values()) {
+        histograms.put(p, new LatencyHistogram());
+      }
+      return histograms;
+    }).get(phase);
+  }
+
+  public Map<StoreCallKey, StoreCallCounter> getStoreCalls() {
+    return Collections.unmodifiableMap(storeCalls);
+  }
+
+  public static final class StoreCallKey {
+
+    private final ContractType contractType;
+    private final String storeName;
+    private final StoreOperation operation;
+
+    private StoreCallKey(ContractType contractType, String storeName, StoreOperation operation) {
+      this.contractType = contractType;
+      this.storeName = storeName;
+      this.operation = operation;
+    }
+
+    public ContractType getContractType() {
+      return contractType;
+    }
+
+    public String getStoreName() {
+      return storeName;
+    }
+
+    public StoreOperation getOperation() {
+      return operation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StoreCallKey)) {
+        return false;
+      }
+      StoreCallKey that = (StoreCallKey) o;
+      return contractType == that.contractType && storeName.equals(that.storeName)
+          && operation == that.operation;
+    }
+
+    @Override
+    public int hashCode() {
+      return (contractType.hashCode() * 31 + storeName.hashCode()) * 31 + operation.hashCode();
+    }
+  }
+
+  public static final class StoreCallCounter {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    public long getCalls() {
+      return calls.sum();
+    }
+
+    public long getBytes() {
+      return bytes.sum();
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package org.tron.core.actuator.metrics;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.tron.core.actuator.Actuator;
+import org.tron.core.actuator.metrics.ActuatorMetrics.Scope;
+import org.tron.core.actuator.metrics.MetricsSink.Phase;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Times {@link #validate()} and {@link #execute} of the wrapped actuator and attributes the store
+ * calls made meanwhile to its contract type. Failed calls are timed as well. Each call is also
+ * reported as a Flight Recorder event when the JVM supports it and a recording enables it.
+ */
+public class InstrumentedActuator implements Actuator {
+
+  private final Actuator actuator;
+  private final ContractType contractType;
+
+  public InstrumentedActuator(Actuator actuator, ContractType contractType) {
+    this.actuator = actuator;
+    this.contractType = contractType;
+  }
+
+  public static Actuator wrap(Actuator actuator, ContractType contractType) {
+    return ActuatorMetrics.isEnabled() || ActuatorEvents.isEnabled()
+        ? new InstrumentedActuator(actuator, contractType) : actuator;
+  }
+
+  @Override
+  public boolean execute(TransactionResultCapsule result) throws ContractExeException {
+    Scope scope = ActuatorMetrics.enter(contractType);
+    Object event = beginEvent();
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      success = actuator.execute(result);
+      return success;
+    } finally {
+      record(Phase.EXECUTE, start, scope, event, success);
+    }
+  }
+
+  @Override
+  public boolean validate() throws ContractValidateException {
+    Scope scope = ActuatorMetrics.enter(contractType);
+    Object event = beginEvent();
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      success = actuator.validate();
+      return success;
+    } finally {
+      record(Phase.VALIDATE, start, scope, event, success);
+    }
+  }
+
+  @Override
+  public ByteString getOwnerAddress() throws InvalidProtocolBufferException {
+    return actuator.getOwnerAddress();
+  }
+
+  @Override
+  public long calcFee() {
+    return actuator.calcFee();
+  }
+
+  public Actuator getActuator() {
+    return actuator;
+  }
+
+  public ContractType getContractType() {
+    return contractType;
+  }
+
+  private static Object beginEvent() {
+    return ActuatorEvents.isEnabled() ? ActuatorEvents.begin() : null;
+  }
+
+  private void record(Phase phase, long start, Scope scope, Object event, boolean success) {
+    long nanos = System.nanoTime() - start;
+    ActuatorMetrics.exit(scope);
+    ActuatorMetrics.getSink().recordLatency(contractType, phase, nanos);
+    if (event != null) {
+      ActuatorEvents.commit(event, actuator, phase, scope, success);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package org.tron.core.actuator.metrics;
+
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Receiver of actuator measurements. Implementations are called on the transaction processing
+ * threads and must not block.
+ */
+public interface MetricsSink {
+
+  MetricsSink NOOP = new MetricsSink() {
+  };
+
+  enum Phase {
+    VALIDATE,
+    EXECUTE
+  }
+
+  enum StoreOperation {
+    GET,
+    HAS,
+    PUT,
+    DELETE
+  }
+
+  default void recordLatency(ContractType contractType, Phase phase, long nanos) {
+  }
+
+  /**
+   * @param bytes bytes read or written by the call, 0 when unknown or not applicable.
+   */
+  default void recordStoreCall(ContractType contractType, String storeName,
+      StoreOperation operation, long bytes) {
+  }
+}
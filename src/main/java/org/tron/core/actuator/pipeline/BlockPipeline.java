@@ -0,0 +1,210 @@
+package org.tron.core.actuator.pipeline;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.actuator.Actuator;
+
+/**
+ * Runs the actuators of a block through four stages connected by bounded lock-free queues:
+ * <ol>
+ * <li>decode, unpacks each contract through {@link Actuator#getOwnerAddress()}; the unpacked
+ * message is cached by the {@code Any}, so validate and execute do not decode it again,</li>
+ * <li>prefetch, hands the decoded transaction to the {@link Prefetcher},</li>
+ * <li>execute, validate then execute, strictly in block order on the calling thread, which is
+ * the only stage that reads or writes the stores,</li>
+ * <li>commit, hands each result to the {@link CommitHandler} in block order.</li>
+ * </ol>
+ * Decoding of later transactions and prefetching for the next ones overlap with the execution of
+ * the current one, while the state transitions are exactly those of a sequential loop. Like that
+ * loop, the run ends at the first transaction that fails validate or execute: its result is still
+ * committed, the transactions after it are not executed.
+ */
+@Slf4j(topic = "actuator")
+public class BlockPipeline implements AutoCloseable {
+
+  private static final PipelineResult END = new PipelineResult(-1, null);
+
+  private final int queueCapacity;
+  private final Prefetcher prefetcher;
+  private final ExecutorService stages;
+
+  public BlockPipeline(int queueCapacity, Prefetcher prefetcher) {
+    this.queueCapacity = queueCapacity;
+    this.prefetcher = prefetcher == null ? Prefetcher.NOOP : prefetcher;
+    AtomicInteger threads = new AtomicInteger();
+    this.stages = Executors.newFixedThreadPool(3, r -> {
+      Thread thread = new Thread(r, "actuator-pipeline-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Validates and executes {@code actuators} in order, up to the first one that fails, returning
+   * once every result has been committed. Runtime exceptions and errors from an actuator or from
+   * the handler stop the pipeline and are rethrown here, as they would be by a sequential loop.
+   */
+  public void run(List<? extends Actuator> actuators, CommitHandler handler)
+      throws InterruptedException {
+    Run run = new Run();
+    SpscQueue<PipelineResult> decoded = new SpscQueue<>(queueCapacity);
+    SpscQueue<PipelineResult> prefetched = new SpscQueue<>(queueCapacity);
+    SpscQueue<PipelineResult> executed = new SpscQueue<>(queueCapacity);
+
+    Future<?> decode = stages.submit(() -> {
+      try {
+        for (int i = 0; i < actuators.size() && !run.aborted && !run.stopped; i++) {
+          PipelineResult task = new PipelineResult(i, actuators.get(i));
+          try {
+            task.ownerAddress = task.getActuator().getOwnerAddress().toByteArray();
+          } catch (InvalidProtocolBufferException | RuntimeException e) {
+            // validate reports it
+          }
+          put(decoded, task, run);
+        }
+      } finally {
+        put(decoded, END, run);
+      }
+    });
+    Future<?> prefetch = stages.submit(() -> {
+      try {
+        PipelineResult task;
+        while ((task = take(decoded, run)) != END && task != null) {
+          try {
+            prefetcher.prefetch(task.getActuator(), task.ownerAddress);
+          } catch (RuntimeException e) {
+            logger.debug(e.getMessage(), e);
+          }
+          put(prefetched, task, run);
+        }
+      } finally {
+        put(prefetched, END, run);
+      }
+    });
+    Future<?> commit = stages.submit(() -> {
+      PipelineResult task;
+      try {
+        while ((task = take(executed, run)) != END && task != null) {
+          handler.commit(task);
+        }
+      } catch (RuntimeException | Error e) {
+        run.fail(e);
+      }
+    });
+
+    try {
+      PipelineResult task;
+      while ((task = take(prefetched, run)) != END && task != null) {
+        if (run.stopped) {
+          // drain what was decoded before the failure
+          continue;
+        }
+        task.run();
+        put(executed, task, run);
+        if (!task.isSuccess()) {
+          run.stopped = true;
+        }
+      }
+      put(executed, END, run);
+    } catch (RuntimeException | Error e) {
+      run.fail(e);
+    }
+
+    try {
+      await(decode, run);
+      await(prefetch, run);
+      await(commit, run);
+    } catch (InterruptedException e) {
+      run.aborted = true;
+      throw e;
+    }
+    if (run.failure instanceof Error) {
+      throw (Error) run.failure;
+    }
+    if (run.failure != null) {
+      throw (RuntimeException) run.failure;
+    }
+  }
+
+  @Override
+  public void close() {
+    stages.shutdownNow();
+  }
+
+  private static void await(Future<?> stage, Run run) throws InterruptedException {
+    try {
+      stage.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      run.fail(cause instanceof RuntimeException || cause instanceof Error
+          ? cause : new IllegalStateException(cause));
+    }
+  }
+
+  private static void put(SpscQueue<PipelineResult> queue, PipelineResult task, Run run) {
+    for (int idle = 0; !queue.offer(task); idle++) {
+      if (run.aborted) {
+        return;
+      }
+      idle(idle);
+    }
+  }
+
+  /**
+   * @return the next task, or null once the run has been aborted.
+   */
+  private static PipelineResult take(SpscQueue<PipelineResult> queue, Run run) {
+    PipelineResult task;
+    for (int idle = 0; (task = queue.poll()) == null; idle++) {
+      if (run.aborted) {
+        return null;
+      }
+      idle(idle);
+    }
+    return task;
+  }
+
+  private static void idle(int count) {
+    if (count < 100) {
+      return;
+    }
+    if (count < 200) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(50_000L);
+    }
+  }
+
+  @FunctionalInterface
+  public interface CommitHandler {
+
+    /**
+     * Called on the commit thread, in block order, after the transaction was executed. The
+     * execute stage may already be running later transactions, so the handler must not read the
+     * stores; it is meant for receipts, results and metrics.
+     */
+    void commit(PipelineResult result);
+  }
+
+  private static final class Run {
+
+    private volatile boolean aborted;
+    // a transaction failed, the run ends normally after committing it
+    private volatile boolean stopped;
+    private volatile Throwable failure;
+
+    private synchronized void fail(Throwable e) {
+      if (failure == null) {
+        failure = e;
+      }
+      aborted = true;
+    }
+  }
+}
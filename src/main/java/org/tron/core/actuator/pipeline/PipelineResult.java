@@ -0,0 +1,63 @@
+package org.tron.core.actuator.pipeline;
+
+import org.tron.core.actuator.Actuator;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ContractValidateException;
+
+/**
+ * One transaction travelling through the pipeline. Fields are filled in by the stages in order
+ * and handed over through the stage queues, which publish them to the next stage.
+ */
+public class PipelineResult {
+
+  private final int index;
+  private final Actuator actuator;
+  private final TransactionResultCapsule result = new TransactionResultCapsule();
+  byte[] ownerAddress;
+  private ContractValidateException validateError;
+  private ContractExeException executeError;
+
+  PipelineResult(int index, Actuator actuator) {
+    this.index = index;
+    this.actuator = actuator;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public Actuator getActuator() {
+    return actuator;
+  }
+
+  public TransactionResultCapsule getResult() {
+    return result;
+  }
+
+  public ContractValidateException getValidateError() {
+    return validateError;
+  }
+
+  public ContractExeException getExecuteError() {
+    return executeError;
+  }
+
+  public boolean isSuccess() {
+    return validateError == null && executeError == null;
+  }
+
+  void run() {
+    try {
+      actuator.validate();
+    } catch (ContractValidateException e) {
+      validateError = e;
+      return;
+    }
+    try {
+      actuator.execute(result);
+    } catch (ContractExeException e) {
+      executeError = e;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package org.tron.core.actuator.pipeline;
+
+import org.tron.core.actuator.Actuator;
+
+/**
+ * Warms whatever the execute stage is about to read for a transaction, running a few
+ * transactions ahead of it on its own thread. It must not write state and must be safe to run
+ * concurrently with the execute stage, e.g. by touching the underlying database or its block
+ * cache rather than the revoking layer. Failures are ignored, prefetching is only a hint.
+ */
+@FunctionalInterface
+public interface Prefetcher {
+
+  Prefetcher NOOP = (actuator, ownerAddress) -> {
+  };
+
+  /**
+   * @param ownerAddress the decoded owner address, null if the contract did not decode.
+   */
+  void prefetch(Actuator actuator, byte[] ownerAddress);
+}
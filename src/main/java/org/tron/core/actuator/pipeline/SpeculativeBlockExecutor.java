@@ -0,0 +1,168 @@
+package org.tron.core.actuator.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.actuator.Actuator;
+import org.tron.core.actuator.SpeculativeEffects;
+
+/**
+ * Executes block N+1 while block N is still being committed. The actuators of N+1 run on their
+ * own thread against a {@link Session}, a layered view on top of the uncommitted writes of N
+ * supplied by the embedder. Like a sequential loop, the speculation stops at the first
+ * transaction that fails validate or execute. Once N is done the caller calls {@link #complete}:
+ * if N committed the same state the speculation was started on and every transaction of N+1
+ * succeeded, the session is promoted and its results are returned. Otherwise the session is
+ * discarded and N+1 has to be executed the ordinary way, which also reports its failure.
+ *
+ * <p>The revoking database belongs to the embedder, so the session must allow reads from the
+ * speculative thread while N is flushed, e.g. by keeping the writes of N readable in memory
+ * until the flush completes. What the actuators of the speculative block change outside the
+ * stores is held back by {@link SpeculativeEffects} until the speculation is promoted.
+ */
+@Slf4j(topic = "actuator")
+public class SpeculativeBlockExecutor implements AutoCloseable {
+
+  private final SessionProvider sessions;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "actuator-speculation");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  public SpeculativeBlockExecutor(SessionProvider sessions) {
+    this.sessions = sessions;
+  }
+
+  /**
+   * Starts executing the next block.
+   *
+   * @param actuators builds the actuators of the next block over the stores of the session.
+   * @param parentVersion identifies the state of block N the speculation reads, for instance its
+   * block hash plus a counter of writes made to it after this call.
+   */
+  public Speculation speculate(Function<Session, List<? extends Actuator>> actuators,
+      long parentVersion) {
+    Session session = sessions.open();
+    Future<Outcome> outcome = executor.submit(() -> {
+      List<PipelineResult> executed = new ArrayList<>();
+      List<Runnable> effects;
+      SpeculativeEffects.begin();
+      try {
+        List<? extends Actuator> block = actuators.apply(session);
+        for (int i = 0; i < block.size(); i++) {
+          PipelineResult result = new PipelineResult(i, block.get(i));
+          result.run();
+          executed.add(result);
+          if (!result.isSuccess()) {
+            break;
+          }
+        }
+      } finally {
+        effects = SpeculativeEffects.end();
+      }
+      return new Outcome(executed, effects);
+    });
+    return new Speculation(session, outcome, parentVersion);
+  }
+
+  /**
+   * @param committedVersion the version of block N as committed, or any other value if N failed
+   * to commit.
+   * @return the results of the next block, already promoted into the parent state, or null if
+   * the speculation was discarded because N changed or a transaction of N+1 failed.
+   */
+  public List<PipelineResult> complete(Speculation speculation, long committedVersion)
+      throws InterruptedException {
+    if (committedVersion != speculation.parentVersion) {
+      discard(speculation);
+      return null;
+    }
+    Outcome outcome;
+    try {
+      outcome = speculation.outcome.get();
+    } catch (ExecutionException e) {
+      logger.debug(e.getMessage(), e);
+      discard(speculation);
+      return null;
+    }
+    if (!outcome.isSuccess()) {
+      // the held back effects are dropped with the outcome
+      speculation.session.discard();
+      return null;
+    }
+    speculation.session.promote();
+    SpeculativeEffects.promote(outcome.effects);
+    return Collections.unmodifiableList(outcome.results);
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private static void discard(Speculation speculation) throws InterruptedException {
+    // the speculative thread must be done with the session before it is thrown away
+    try {
+      speculation.outcome.get();
+    } catch (ExecutionException e) {
+      logger.debug(e.getMessage(), e);
+    }
+    // the held back effects are dropped with the outcome
+    speculation.session.discard();
+  }
+
+  public static final class Speculation {
+
+    private final Session session;
+    private final Future<Outcome> outcome;
+    private final long parentVersion;
+
+    private Speculation(Session session, Future<Outcome> outcome, long parentVersion) {
+      this.session = session;
+      this.outcome = outcome;
+      this.parentVersion = parentVersion;
+    }
+  }
+
+  private static final class Outcome {
+
+    private final List<PipelineResult> results;
+    private final List<Runnable> effects;
+
+    private Outcome(List<PipelineResult> results, List<Runnable> effects) {
+      this.results = results;
+      this.effects = effects;
+    }
+
+    private boolean isSuccess() {
+      // execution stops at the first failure
+      return results.isEmpty() || results.get(results.size() - 1).isSuccess();
+    }
+  }
+
+  @FunctionalInterface
+  public interface SessionProvider {
+
+    /**
+     * @return a writable layer over the current, possibly uncommitted, head state.
+     */
+    Session open();
+  }
+
+  public interface Session {
+
+    /**
+     * Merge the writes of this layer into its parent, which has been committed by now.
+     */
+    void promote();
+
+    void discard();
+  }
+}
@@ -0,0 +1,63 @@
+package org.tron.core.actuator.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for exactly one producer thread and one consumer thread. Each side
+ * only writes its own index and publishes it with an ordered store, so neither side ever takes a
+ * lock or a CAS.
+ */
+final class SpscQueue<T> {
+
+  private final AtomicReferenceArray<T> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  // producer and consumer private copies of the other side's index
+  private long cachedHead;
+  private long cachedTail;
+
+  SpscQueue(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of two, got " + capacity);
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  /**
+   * Producer side. @return false when the queue is full.
+   */
+  boolean offer(T value) {
+    long t = tail.get();
+    if (t - cachedHead > mask) {
+      cachedHead = head.get();
+      if (t - cachedHead > mask) {
+        return false;
+      }
+    }
+    slots.lazySet((int) t & mask, value);
+    tail.lazySet(t + 1);
+    return true;
+  }
+
+  /**
+   * Consumer side. @return null when the queue is empty.
+   */
+  T poll() {
+    long h = head.get();
+    if (h >= cachedTail) {
+      cachedTail = tail.get();
+      if (h >= cachedTail) {
+        return null;
+      }
+    }
+    int index = (int) h & mask;
+    T value = slots.get(index);
+    slots.lazySet(index, null);
+    head.lazySet(h + 1);
+    return value;
+  }
+}
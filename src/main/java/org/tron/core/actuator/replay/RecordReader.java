@@ -0,0 +1,81 @@
+package org.tron.core.actuator.replay;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Memory-mapped reader of a file written by {@link RecordWriter}. The file is mapped in windows
+ * so recordings larger than 2GB can be read.
+ */
+public class RecordReader implements RecordSource, Closeable {
+
+  private static final int HEADER_SIZE = 4 + 8 + 4;
+  private static final long WINDOW_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private MappedByteBuffer window;
+  private long windowStart;
+
+  public RecordReader(Path path) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    map(0);
+  }
+
+  @Override
+  public TransactionRecord next() throws IOException {
+    long position = windowStart + window.position();
+    if (position >= size) {
+      return null;
+    }
+    if (window.remaining() < HEADER_SIZE) {
+      map(position);
+      if (window.remaining() < HEADER_SIZE) {
+        throw new IOException("truncated record at " + position);
+      }
+    }
+    window.mark();
+    int type = window.getInt();
+    long blockTimestamp = window.getLong();
+    int length = window.getInt();
+    if (window.remaining() < length) {
+      window.reset();
+      map(position);
+      window.position(HEADER_SIZE);
+    }
+    if (window.remaining() < length) {
+      throw new IOException("truncated record at " + position);
+    }
+    byte[] parameter = new byte[length];
+    window.get(parameter);
+
+    ContractType contractType = ContractType.forNumber(type);
+    if (contractType == null) {
+      throw new IOException("unknown contract type " + type + " at " + position);
+    }
+    try {
+      return new TransactionRecord(contractType, blockTimestamp, Any.parseFrom(parameter));
+    } catch (InvalidProtocolBufferException e) {
+      throw new IOException("bad parameter at " + position, e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private void map(long position) throws IOException {
+    windowStart = position;
+    window = channel.map(MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+  }
+}
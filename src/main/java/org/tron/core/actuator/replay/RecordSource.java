@@ -0,0 +1,11 @@
+package org.tron.core.actuator.replay;
+
+import java.io.IOException;
+
+public interface RecordSource {
+
+  /**
+   * @return the next record, or null when the source is exhausted.
+   */
+  TransactionRecord next() throws IOException;
+}
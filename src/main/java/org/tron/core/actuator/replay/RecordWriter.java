@@ -0,0 +1,35 @@
+package org.tron.core.actuator.replay;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes {@link TransactionRecord}s in the layout read by {@link RecordReader}: per record a
+ * big-endian {@code int} contract type number, {@code long} block timestamp, {@code int} length
+ * and the serialized {@code Any}.
+ */
+public class RecordWriter implements Closeable {
+
+  private final DataOutputStream out;
+
+  public RecordWriter(Path path) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+  }
+
+  public void write(TransactionRecord record) throws IOException {
+    byte[] parameter = record.getParameter().toByteArray();
+    out.writeInt(record.getContractType().getNumber());
+    out.writeLong(record.getBlockTimestamp());
+    out.writeInt(parameter.length);
+    out.write(parameter);
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
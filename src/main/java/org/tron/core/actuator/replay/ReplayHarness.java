@@ -0,0 +1,82 @@
+package org.tron.core.actuator.replay;
+
+import com.google.protobuf.Any;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.actuator.Actuator;
+import org.tron.core.actuator.metrics.LatencyHistogram;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Runs a recording, or any other {@link RecordSource}, through validate and execute of the actuators, as a network free throughput
+ * benchmark. The stores are owned by the caller: the {@link ActuatorFactory} builds actuators
+ * over whatever state the run should use, a RocksDB copy or in-memory stores, and the state hash
+ * is taken from that state once the recording is exhausted.
+ */
+@Slf4j(topic = "actuator")
+public class ReplayHarness {
+
+  private final ActuatorFactory actuatorFactory;
+  private final LongConsumer blockTimestampSetter;
+  private final Supplier<byte[]> stateHash;
+
+  /**
+   * @param blockTimestampSetter called before a record whose block timestamp differs from the
+   * previous one, typically saving it as the latest block header timestamp.
+   */
+  public ReplayHarness(ActuatorFactory actuatorFactory, LongConsumer blockTimestampSetter,
+      Supplier<byte[]> stateHash) {
+    this.actuatorFactory = actuatorFactory;
+    this.blockTimestampSetter = blockTimestampSetter;
+    this.stateHash = stateHash;
+  }
+
+  public ReplayReport run(RecordSource source) throws IOException {
+    Map<ContractType, LatencyHistogram> latencies = new EnumMap<>(ContractType.class);
+    long transactions = 0;
+    long invalid = 0;
+    long failed = 0;
+    long blockTimestamp = Long.MIN_VALUE;
+
+    long start = System.nanoTime();
+    TransactionRecord record;
+    while ((record = source.next()) != null) {
+      if (record.getBlockTimestamp() != blockTimestamp) {
+        blockTimestamp = record.getBlockTimestamp();
+        blockTimestampSetter.accept(blockTimestamp);
+      }
+
+      long txStart = System.nanoTime();
+      Actuator actuator = actuatorFactory.create(record.getContractType(), record.getParameter());
+      try {
+        actuator.validate();
+        actuator.execute(new TransactionResultCapsule());
+      } catch (ContractValidateException e) {
+        logger.debug(e.getMessage(), e);
+        invalid++;
+      } catch (ContractExeException e) {
+        logger.debug(e.getMessage(), e);
+        failed++;
+      }
+      latencies.computeIfAbsent(record.getContractType(), k -> new LatencyHistogram())
+          .record(System.nanoTime() - txStart);
+      transactions++;
+    }
+    long elapsed = System.nanoTime() - start;
+
+    return new ReplayReport(transactions, invalid, failed, elapsed, latencies, stateHash.get());
+  }
+
+  @FunctionalInterface
+  public interface ActuatorFactory {
+
+    Actuator create(ContractType contractType, Any parameter);
+  }
+}
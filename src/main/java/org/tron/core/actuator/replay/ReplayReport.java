@@ -0,0 +1,70 @@
+package org.tron.core.actuator.replay;
+
+import java.util.Collections;
+import java.util.Map;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.actuator.metrics.LatencyHistogram;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+public class ReplayReport {
+
+  private final long transactions;
+  private final long invalid;
+  private final long failed;
+  private final long elapsedNanos;
+  private final Map<ContractType, LatencyHistogram> latencies;
+  private final byte[] stateHash;
+
+  ReplayReport(long transactions, long invalid, long failed, long elapsedNanos,
+      Map<ContractType, LatencyHistogram> latencies, byte[] stateHash) {
+    this.transactions = transactions;
+    this.invalid = invalid;
+    this.failed = failed;
+    this.elapsedNanos = elapsedNanos;
+    this.latencies = latencies;
+    this.stateHash = stateHash;
+  }
+
+  public long getTransactions() {
+    return transactions;
+  }
+
+  public long getInvalid() {
+    return invalid;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public double getTransactionsPerSecond() {
+    return elapsedNanos == 0 ? 0 : transactions * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  public Map<ContractType, LatencyHistogram> getLatencies() {
+    return Collections.unmodifiableMap(latencies);
+  }
+
+  public byte[] getStateHash() {
+    return stateHash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    builder.append(String.format("transactions=%d invalid=%d failed=%d tps=%.1f stateHash=%s%n",
+        transactions, invalid, failed, getTransactionsPerSecond(),
+        ByteArray.toHexString(stateHash)));
+    for (Map.Entry<ContractType, LatencyHistogram> entry : latencies.entrySet()) {
+      LatencyHistogram histogram = entry.getValue();
+      builder.append(String.format("%s count=%d p50=%dus p99=%dus%n", entry.getKey(),
+          histogram.getCount(), histogram.getValueAtPercentile(50) / 1000,
+          histogram.getValueAtPercentile(99) / 1000));
+    }
+    return builder.toString();
+  }
+}
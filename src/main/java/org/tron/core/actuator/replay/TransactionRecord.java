@@ -0,0 +1,33 @@
+package org.tron.core.actuator.replay;
+
+import com.google.protobuf.Any;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * One recorded contract: its type, the parameter as carried by the transaction and the
+ * timestamp of the block it was included in.
+ */
+public final class TransactionRecord {
+
+  private final ContractType contractType;
+  private final long blockTimestamp;
+  private final Any parameter;
+
+  public TransactionRecord(ContractType contractType, long blockTimestamp, Any parameter) {
+    this.contractType = contractType;
+    this.blockTimestamp = blockTimestamp;
+    this.parameter = parameter;
+  }
+
+  public ContractType getContractType() {
+    return contractType;
+  }
+
+  public long getBlockTimestamp() {
+    return blockTimestamp;
+  }
+
+  public Any getParameter() {
+    return parameter;
+  }
+}
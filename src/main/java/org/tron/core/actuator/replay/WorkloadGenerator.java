@@ -0,0 +1,312 @@
+package org.tron.core.actuator.replay;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Message;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.tron.protos.Contract.AccountCreateContract;
+import org.tron.protos.Contract.ExchangeInjectContract;
+import org.tron.protos.Contract.ExchangeTransactionContract;
+import org.tron.protos.Contract.FreezeBalanceContract;
+import org.tron.protos.Contract.ResourceCode;
+import org.tron.protos.Contract.TransferAssetContract;
+import org.tron.protos.Contract.TransferContract;
+import org.tron.protos.Contract.UnfreezeBalanceContract;
+import org.tron.protos.Contract.VoteWitnessContract;
+import org.tron.protos.Contract.VoteWitnessContract.Vote;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Synthetic {@link RecordSource}. Accounts are numbered {@code 0..accountCount-1} and picked with
+ * a Zipf distribution, so a handful of hot accounts can dominate; a configurable share of
+ * recipients are addresses never used before. Exchanges are picked with their own Zipf exponent
+ * to concentrate trading on a few pools. The state the records run against has to be seeded by
+ * the caller with the accounts from {@link #address(int)}, the witnesses, the asset and the
+ * exchanges named in the configuration.
+ */
+public class WorkloadGenerator implements RecordSource {
+
+  private static final ByteString TRX_SYMBOL = ByteString.copyFromUtf8("_");
+  private static final Set<ContractType> SUPPORTED_TYPES = EnumSet.of(
+      ContractType.AccountCreateContract, ContractType.TransferContract,
+      ContractType.TransferAssetContract, ContractType.VoteWitnessContract,
+      ContractType.FreezeBalanceContract, ContractType.UnfreezeBalanceContract,
+      ContractType.ExchangeTransactionContract, ContractType.ExchangeInjectContract);
+
+  private final Builder config;
+  private final Random random;
+  private final ZipfSampler accounts;
+  private final ZipfSampler exchanges;
+  private final ContractType[] types;
+  private final double[] typeCdf;
+  private long generated;
+  private int nextNewAccount;
+
+  private WorkloadGenerator(Builder config) {
+    this.config = config;
+    this.random = new Random(config.seed);
+    this.accounts = new ZipfSampler(config.accountCount, config.accountSkew);
+    this.exchanges = config.exchangeIds.length == 0 ? null
+        : new ZipfSampler(config.exchangeIds.length, config.exchangeConcentration);
+    this.types = config.mix.keySet().toArray(new ContractType[0]);
+    this.typeCdf = new double[types.length];
+    double sum = 0;
+    for (int i = 0; i < types.length; i++) {
+      sum += config.mix.get(types[i]);
+      typeCdf[i] = sum;
+    }
+    for (int i = 0; i < types.length; i++) {
+      typeCdf[i] /= sum;
+    }
+    this.nextNewAccount = config.accountCount;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @return the address of account number {@code index}, as used by the generated contracts.
+   */
+  public ByteString address(int index) {
+    byte[] address = new byte[21];
+    address[0] = config.addressPrefix;
+    long mixed = index * 0x9E3779B97F4A7C15L;
+    for (int i = 0; i < 4; i++) {
+      address[1 + i] = (byte) (index >>> (24 - 8 * i));
+    }
+    for (int i = 0; i < 8; i++) {
+      address[13 + i] = (byte) (mixed >>> (56 - 8 * i));
+    }
+    return ByteString.copyFrom(address);
+  }
+
+  @Override
+  public TransactionRecord next() {
+    if (generated >= config.transactions) {
+      return null;
+    }
+    long blockTimestamp = config.startTimestamp
+        + generated / config.transactionsPerBlock * config.blockInterval;
+    generated++;
+
+    ContractType type = pickType();
+    return new TransactionRecord(type, blockTimestamp, Any.pack(contract(type)));
+  }
+
+  private ContractType pickType() {
+    int index = Arrays.binarySearch(typeCdf, random.nextDouble());
+    return types[Math.min(index < 0 ? -index - 1 : index, types.length - 1)];
+  }
+
+  private Message contract(ContractType type) {
+    ByteString owner = address(accounts.sample(random));
+    switch (type) {
+      case AccountCreateContract:
+        return AccountCreateContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setAccountAddress(address(nextNewAccount++))
+            .build();
+      case TransferContract:
+        return TransferContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setToAddress(recipient(owner))
+            .setAmount(1 + random.nextInt(config.maxAmount))
+            .build();
+      case TransferAssetContract:
+        return TransferAssetContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setToAddress(recipient(owner))
+            .setAssetName(config.assetName)
+            .setAmount(1 + random.nextInt(config.maxAmount))
+            .build();
+      case VoteWitnessContract: {
+        VoteWitnessContract.Builder builder = VoteWitnessContract.newBuilder()
+            .setOwnerAddress(owner);
+        int votes = Math.min(config.witnesses.size(), 1 + random.nextInt(3));
+        int first = random.nextInt(config.witnesses.size());
+        for (int i = 0; i < votes; i++) {
+          builder.addVotes(Vote.newBuilder()
+              .setVoteAddress(config.witnesses.get((first + i) % config.witnesses.size()))
+              .setVoteCount(1));
+        }
+        return builder.build();
+      }
+      case FreezeBalanceContract:
+        return FreezeBalanceContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setFrozenBalance(1_000_000L * (1 + random.nextInt(config.maxAmount)))
+            .setFrozenDuration(3)
+            .setResource(random.nextBoolean() ? ResourceCode.BANDWIDTH : ResourceCode.ENERGY)
+            .build();
+      case UnfreezeBalanceContract:
+        return UnfreezeBalanceContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setResource(random.nextBoolean() ? ResourceCode.BANDWIDTH : ResourceCode.ENERGY)
+            .build();
+      case ExchangeTransactionContract:
+        return ExchangeTransactionContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setExchangeId(config.exchangeIds[exchanges.sample(random)])
+            .setTokenId(random.nextBoolean() ? TRX_SYMBOL : config.assetId)
+            .setQuant(1 + random.nextInt(config.maxAmount))
+            .setExpected(1)
+            .build();
+      case ExchangeInjectContract:
+        return ExchangeInjectContract.newBuilder()
+            .setOwnerAddress(owner)
+            .setExchangeId(config.exchangeIds[exchanges.sample(random)])
+            .setTokenId(TRX_SYMBOL)
+            .setQuant(1 + random.nextInt(config.maxAmount))
+            .build();
+      default:
+        throw new IllegalArgumentException("unsupported contract type " + type);
+    }
+  }
+
+  private ByteString recipient(ByteString owner) {
+    if (random.nextDouble() < config.newAccountRatio) {
+      return address(nextNewAccount++);
+    }
+    ByteString recipient = address(accounts.sample(random));
+    return recipient.equals(owner) ? address(nextNewAccount++) : recipient;
+  }
+
+  /**
+   * Zipf over {@code 0..n-1} by inverse transform on a precomputed CDF, exponent 0 is uniform.
+   */
+  private static final class ZipfSampler {
+
+    private final double[] cdf;
+
+    private ZipfSampler(int n, double exponent) {
+      cdf = new double[n];
+      double sum = 0;
+      for (int i = 0; i < n; i++) {
+        sum += 1.0 / Math.pow(i + 1, exponent);
+        cdf[i] = sum;
+      }
+      for (int i = 0; i < n; i++) {
+        cdf[i] /= sum;
+      }
+    }
+
+    private int sample(Random random) {
+      int index = Arrays.binarySearch(cdf, random.nextDouble());
+      return Math.min(index < 0 ? -index - 1 : index, cdf.length - 1);
+    }
+  }
+
+  public static final class Builder {
+
+    private final Map<ContractType, Double> mix = new EnumMap<>(ContractType.class);
+    private long transactions = 1_000_000;
+    private int accountCount = 100_000;
+    private double accountSkew = 1.0;
+    private double newAccountRatio = 0.01;
+    private List<ByteString> witnesses = new ArrayList<>();
+    private ByteString assetName = ByteString.EMPTY;
+    private ByteString assetId = ByteString.EMPTY;
+    private long[] exchangeIds = new long[0];
+    private double exchangeConcentration = 1.0;
+    private int maxAmount = 1_000;
+    private byte addressPrefix = 0x41;
+    private long startTimestamp = 1_546_300_800_000L;
+    private long blockInterval = 3_000;
+    private int transactionsPerBlock = 1_000;
+    private long seed = 1;
+
+    private Builder() {
+    }
+
+    public Builder weight(ContractType type, double weight) {
+      mix.put(type, weight);
+      return this;
+    }
+
+    public Builder transactions(long transactions) {
+      this.transactions = transactions;
+      return this;
+    }
+
+    public Builder accounts(int accountCount, double zipfExponent) {
+      this.accountCount = accountCount;
+      this.accountSkew = zipfExponent;
+      return this;
+    }
+
+    public Builder newAccountRatio(double newAccountRatio) {
+      this.newAccountRatio = newAccountRatio;
+      return this;
+    }
+
+    public Builder witnesses(List<ByteString> witnesses) {
+      this.witnesses = new ArrayList<>(witnesses);
+      return this;
+    }
+
+    /**
+     * @param assetName name used by TransferAssetContract.
+     * @param assetId token id traded against TRX in the exchanges.
+     */
+    public Builder asset(ByteString assetName, ByteString assetId) {
+      this.assetName = assetName;
+      this.assetId = assetId;
+      return this;
+    }
+
+    public Builder exchanges(long[] exchangeIds, double zipfExponent) {
+      this.exchangeIds = exchangeIds.clone();
+      this.exchangeConcentration = zipfExponent;
+      return this;
+    }
+
+    public Builder maxAmount(int maxAmount) {
+      this.maxAmount = maxAmount;
+      return this;
+    }
+
+    public Builder addressPrefix(byte addressPrefix) {
+      this.addressPrefix = addressPrefix;
+      return this;
+    }
+
+    public Builder blocks(long startTimestamp, long blockInterval, int transactionsPerBlock) {
+      this.startTimestamp = startTimestamp;
+      this.blockInterval = blockInterval;
+      this.transactionsPerBlock = transactionsPerBlock;
+      return this;
+    }
+
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    public WorkloadGenerator build() {
+      if (mix.isEmpty()) {
+        throw new IllegalArgumentException("no contract type in the mix");
+      }
+      for (ContractType type : mix.keySet()) {
+        if (!SUPPORTED_TYPES.contains(type)) {
+          throw new IllegalArgumentException("unsupported contract type " + type);
+        }
+      }
+      if (mix.containsKey(ContractType.VoteWitnessContract) && witnesses.isEmpty()) {
+        throw new IllegalArgumentException("VoteWitnessContract needs witnesses");
+      }
+      if ((mix.containsKey(ContractType.ExchangeTransactionContract)
+          || mix.containsKey(ContractType.ExchangeInjectContract)) && exchangeIds.length == 0) {
+        throw new IllegalArgumentException("exchange contracts need exchange ids");
+      }
+      return new WorkloadGenerator(this);
+    }
+  }
+}
@@ -9,37 +9,48 @@ public class Parameter {
     public static final int MAX_VOTE_NUMBER = 30;
   }
 
+  /**
+   * Chain parameters a proposal can change, with the id that identifies them in
+   * ProposalCreateContract; the ids are part of the protocol and never change.
+   */
   public enum ChainParameters {
-    MAINTENANCE_TIME_INTERVAL, //ms  ,0
-    ACCOUNT_UPGRADE_COST, //drop ,1
-    CREATE_ACCOUNT_FEE, //drop ,2
-    TRANSACTION_FEE, //drop ,3
-    ASSET_ISSUE_FEE, //drop ,4
-    WITNESS_PAY_PER_BLOCK, //drop ,5
-    WITNESS_STANDBY_ALLOWANCE, //drop ,6
-    CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT, //drop ,7
-    CREATE_NEW_ACCOUNT_BANDWIDTH_RATE, // 1 ~ ,8
-    ALLOW_CREATION_OF_CONTRACTS, // 0 / >0 ,9
-    REMOVE_THE_POWER_OF_THE_GR,  // 1 ,10
-    ENERGY_FEE, // drop, 11
-    EXCHANGE_CREATE_FEE, // drop, 12
-    MAX_CPU_TIME_OF_ONE_TX, // ms, 13
-    ALLOW_UPDATE_ACCOUNT_NAME, // 1, 14
-    ALLOW_SAME_TOKEN_NAME, // 1, 15
-    ALLOW_DELEGATE_RESOURCE, // 0, 16
-    TOTAL_ENERGY_LIMIT, // 50,000,000,000, 17
-    ALLOW_TVM_TRANSFER_TRC10, // 1, 18
-    TOTAL_CURRENT_ENERGY_LIMIT, // 50,000,000,000, 19
-    ALLOW_MULTI_SIGN, // 1, 20
-    ALLOW_ADAPTIVE_ENERGY, // 1, 21
-    UPDATE_ACCOUNT_PERMISSION_FEE, // 100, 22
-    MULTI_SIGN_FEE, // 1, 23
-    ALLOW_PROTO_FILTER_NUM, // 1, 24
-    ALLOW_ACCOUNT_STATE_ROOT, // 1, 25
-    ALLOW_TVM_CONSTANTINOPLE, // 1, 26
-    ALLOW_SHIELDED_TRANSACTION, // 1, 27
-    SHIELDED_TRANSACTION_FEE, // 28
-    ALLOW_TVM_SOLIDITY_059, // 1, 29
+    MAINTENANCE_TIME_INTERVAL(0), // ms
+    ACCOUNT_UPGRADE_COST(1), // drop
+    CREATE_ACCOUNT_FEE(2), // drop
+    TRANSACTION_FEE(3), // drop
+    ASSET_ISSUE_FEE(4), // drop
+    WITNESS_PAY_PER_BLOCK(5), // drop
+    WITNESS_STANDBY_ALLOWANCE(6), // drop
+    CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT(7), // drop
+    CREATE_NEW_ACCOUNT_BANDWIDTH_RATE(8), // 1 ~
+    ALLOW_CREATION_OF_CONTRACTS(9), // 0 / >0
+    REMOVE_THE_POWER_OF_THE_GR(10), // 1
+    ENERGY_FEE(11), // drop
+    EXCHANGE_CREATE_FEE(12), // drop
+    MAX_CPU_TIME_OF_ONE_TX(13), // ms
+    ALLOW_UPDATE_ACCOUNT_NAME(14), // 1
+    ALLOW_SAME_TOKEN_NAME(15), // 1
+    ALLOW_DELEGATE_RESOURCE(16), // 0
+    TOTAL_ENERGY_LIMIT(17), // 50,000,000,000
+    ALLOW_TVM_TRANSFER_TRC10(18), // 1
+    TOTAL_CURRENT_ENERGY_LIMIT(19), // 50,000,000,000
+    ALLOW_MULTI_SIGN(20), // 1
+    ALLOW_ADAPTIVE_ENERGY(21), // 1
+    UPDATE_ACCOUNT_PERMISSION_FEE(22), // 100
+    MULTI_SIGN_FEE(23), // 1
+    ALLOW_PROTO_FILTER_NUM(24), // 1
+    ALLOW_ACCOUNT_STATE_ROOT(25), // 1
+    ALLOW_TVM_CONSTANTINOPLE(26), // 1
+    ALLOW_SHIELDED_TRANSACTION(27), // 1
+    SHIELDED_TRANSACTION_FEE(28),
+    ALLOW_TVM_SOLIDITY_059(29); // 1
+
+    @Getter
+    private final int id;
+
+    ChainParameters(int id) {
+      this.id = id;
+    }
   }
 
   @Deprecated
@@ -0,0 +1,138 @@
+package org.tron.core.actuator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.store.AccountStore;
+import org.tron.protos.Protocol.Account;
+
+public class AccountOrdinalIndexTest {
+
+  private final AccountOrdinalIndex index = AccountOrdinalIndex.getInstance();
+
+  private static byte[] address(int n) {
+    byte[] address = new byte[Address.LENGTH];
+    address[0] = 0x41;
+    address[18] = (byte) (n >>> 16);
+    address[19] = (byte) (n >>> 8);
+    address[20] = (byte) n;
+    return address;
+  }
+
+  @After
+  public void destroy() {
+    index.disable();
+  }
+
+  private void rebuild(int accounts) {
+    List<Entry<byte[], AccountCapsule>> entries = new ArrayList<>();
+    for (int i = 0; i < accounts; i++) {
+      entries.add(new SimpleEntry<>(address(i), new AccountCapsule(Account.newBuilder()
+          .setAddress(ByteString.copyFrom(address(i))).build())));
+    }
+    AccountStore accountStore = mock(AccountStore.class);
+    when(accountStore.iterator()).thenReturn(entries.iterator());
+    index.rebuild(accountStore);
+  }
+
+  @Test
+  public void inactiveIndexAnswersMinusOne() {
+    Assert.assertFalse(index.isActive());
+    Assert.assertEquals(-1, index.ordinal(address(1)));
+    Assert.assertEquals(-1, index.assign(address(1)));
+    index.unassign(address(1));
+    Assert.assertEquals(0, index.size());
+  }
+
+  @Test
+  public void assignsDenseOrdinals() {
+    rebuild(100);
+    Assert.assertTrue(index.isActive());
+    Assert.assertEquals(100, index.size());
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(i, index.ordinal(address(i)));
+      Assert.assertTrue(index.address(i).matches(address(i)));
+    }
+    Assert.assertEquals(-1, index.ordinal(address(100)));
+    // past the initial table of the address map and the address array
+    for (int i = 100; i < 70_000; i++) {
+      Assert.assertEquals(i, index.assign(address(i)));
+    }
+    Assert.assertEquals(5, index.assign(address(5)));
+    Assert.assertEquals(70_000, index.size());
+    Assert.assertEquals(69_999, index.ordinal(address(69_999)));
+  }
+
+  @Test
+  public void unassignTakesBackOnlyTheLastOrdinal() {
+    rebuild(3);
+    Assert.assertEquals(3, index.assign(address(3)));
+    Assert.assertEquals(4, index.assign(address(4)));
+
+    index.unassign(address(3));
+    Assert.assertEquals(5, index.size());
+    index.unassign(address(99));
+    Assert.assertEquals(5, index.size());
+
+    // undos run in reverse order
+    index.unassign(address(4));
+    index.unassign(address(3));
+    Assert.assertEquals(3, index.size());
+    Assert.assertEquals(-1, index.ordinal(address(3)));
+    Assert.assertEquals(-1, index.ordinal(address(4)));
+    Assert.assertEquals(3, index.assign(address(4)));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void addressOfUnassignedOrdinal() {
+    rebuild(3);
+    index.address(3);
+  }
+
+  @Test
+  public void writeAndReadBack() throws IOException {
+    rebuild(10);
+    index.assign(address(1_000));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    index.writeTo(out);
+
+    index.disable();
+    index.readFrom(new ByteArrayInputStream(out.toByteArray()));
+    Assert.assertEquals(11, index.size());
+    Assert.assertEquals(7, index.ordinal(address(7)));
+    Assert.assertEquals(10, index.ordinal(address(1_000)));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void inactiveIndexCannotBeWritten() throws IOException {
+    index.writeTo(new ByteArrayOutputStream());
+  }
+
+  @Test
+  public void columnReadsDefaultForAddressWithoutOrdinal() {
+    rebuild(3);
+    LongColumn balances = new LongColumn(0, 42);
+    balances.set(index.ordinal(address(2)), 7);
+    Assert.assertEquals(7, balances.get(index.ordinal(address(2))));
+    Assert.assertEquals(42, balances.get(index.ordinal(address(1))));
+    Assert.assertEquals(42, balances.get(index.ordinal(address(3))));
+    try {
+      balances.set(index.ordinal(address(3)), 1);
+      Assert.fail();
+    } catch (IndexOutOfBoundsException e) {
+      Assert.assertEquals("negative ordinal -1", e.getMessage());
+    }
+  }
+}
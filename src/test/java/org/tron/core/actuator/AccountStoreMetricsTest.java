@@ -0,0 +1,126 @@
+package org.tron.core.actuator;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.actuator.metrics.ActuatorMetrics;
+import org.tron.core.actuator.metrics.HistogramMetricsSink;
+import org.tron.core.actuator.metrics.HistogramMetricsSink.StoreCallCounter;
+import org.tron.core.actuator.metrics.HistogramMetricsSink.StoreCallKey;
+import org.tron.core.actuator.metrics.InstrumentedActuator;
+import org.tron.core.actuator.metrics.MetricsSink.StoreOperation;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.BalanceInsufficientException;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.Account;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+public class AccountStoreMetricsTest {
+
+  private static final byte[] OWNER = address(1);
+  private static final byte[] BLACKHOLE = address(2);
+
+  private final HistogramMetricsSink sink = new HistogramMetricsSink();
+  private MemoryAccountStore accounts;
+
+  private static byte[] address(int last) {
+    byte[] address = new byte[21];
+    address[0] = 0x41;
+    address[20] = (byte) last;
+    return address;
+  }
+
+  @Before
+  public void init() {
+    ActuatorMetrics.setSink(sink);
+    accounts = new MemoryAccountStore(BLACKHOLE);
+    accounts.put(new AccountCapsule(Account.newBuilder()
+        .setAddress(ByteString.copyFrom(OWNER)).setBalance(100).build()));
+    accounts.put(new AccountCapsule(Account.newBuilder()
+        .setAddress(ByteString.copyFrom(BLACKHOLE)).build()));
+  }
+
+  @After
+  public void destroy() {
+    ActuatorMetrics.setSink(null);
+  }
+
+  private long calls(StoreOperation operation) {
+    long calls = 0;
+    for (Map.Entry<StoreCallKey, StoreCallCounter> entry : sink.getStoreCalls().entrySet()) {
+      if (entry.getKey().getOperation() == operation) {
+        Assert.assertEquals(ContractType.TransferContract, entry.getKey().getContractType());
+        Assert.assertEquals("account", entry.getKey().getStoreName());
+        Assert.assertTrue(entry.getValue().getBytes() > 0);
+        calls += entry.getValue().getCalls();
+      }
+    }
+    return calls;
+  }
+
+  @Test
+  public void accountHelpersReportStoreCalls() throws Exception {
+    Actuator actuator = new InstrumentedActuator(
+        new ProbeActuator(accounts, mock(DynamicPropertiesStore.class)),
+        ContractType.TransferContract);
+
+    actuator.validate();
+    Assert.assertEquals(1, calls(StoreOperation.GET));
+    Assert.assertEquals(0, calls(StoreOperation.PUT));
+
+    actuator.execute(new TransactionResultCapsule());
+    // the owner, the blackhole lookup and the blackhole read by adjustBalance
+    Assert.assertEquals(4, calls(StoreOperation.GET));
+    Assert.assertEquals(2, calls(StoreOperation.PUT));
+    Assert.assertEquals(90, accounts.getAccount(OWNER).getBalance());
+    Assert.assertEquals(10, accounts.getAccount(BLACKHOLE).getBalance());
+  }
+
+  @Test
+  public void callsOutsideAnActuatorAreNotRecorded() throws Exception {
+    new ProbeActuator(accounts, mock(DynamicPropertiesStore.class))
+        .execute(new TransactionResultCapsule());
+    Assert.assertTrue(sink.getStoreCalls().isEmpty());
+  }
+
+  private static final class ProbeActuator extends AbstractActuator {
+
+    private ProbeActuator(MemoryAccountStore accounts, DynamicPropertiesStore dynamicStore) {
+      super(Any.getDefaultInstance(), accounts.getStore(), dynamicStore);
+    }
+
+    @Override
+    public boolean execute(TransactionResultCapsule result) throws ContractExeException {
+      try {
+        adjustBalance(OWNER, -10);
+        adjustBlackholeBalance(10);
+      } catch (BalanceInsufficientException e) {
+        throw new ContractExeException(e.getMessage());
+      }
+      return true;
+    }
+
+    @Override
+    public boolean validate() {
+      return getAccount(OWNER) != null;
+    }
+
+    @Override
+    public ByteString getOwnerAddress() {
+      return ByteString.copyFrom(OWNER);
+    }
+
+    @Override
+    public long calcFee() {
+      return 0;
+    }
+  }
+}
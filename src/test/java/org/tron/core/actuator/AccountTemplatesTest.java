@@ -0,0 +1,105 @@
+package org.tron.core.actuator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.store.AssetIssueStore;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Contract.AccountCreateContract;
+import org.tron.protos.Protocol.AccountType;
+
+public class AccountTemplatesTest {
+
+  private static final long CREATE_TIME = 1_565_000_000_000L;
+
+  private DynamicPropertiesStore dynamicStore;
+  private AssetIssueStore assetIssueStore;
+
+  @Before
+  public void init() {
+    dynamicStore = mock(DynamicPropertiesStore.class);
+    assetIssueStore = mock(AssetIssueStore.class);
+    when(dynamicStore.getAllowMultiSign()).thenReturn(1L);
+    setOperations((byte) 0x7f);
+  }
+
+  private void setOperations(byte first) {
+    byte[] operations = new byte[32];
+    operations[0] = first;
+    operations[1] = (byte) 0xfe;
+    byte[] contractTypes = operations.clone();
+    contractTypes[31] = 1;
+    when(dynamicStore.getActiveDefaultOperations()).thenReturn(operations);
+    when(dynamicStore.getAvailableContractType()).thenReturn(contractTypes);
+  }
+
+  private static ByteString randomAddress(Random random) {
+    byte[] address = new byte[21];
+    random.nextBytes(address);
+    address[0] = 0x41;
+    return ByteString.copyFrom(address);
+  }
+
+  private void assertSameAsConstructor(ByteString address, boolean withDefaultPermission) {
+    AccountCapsule expected = new AccountCapsule(address, AccountType.Normal, CREATE_TIME,
+        withDefaultPermission, dynamicStore, assetIssueStore);
+    AccountCapsule actual = AccountTemplates.newNormalAccount(address, CREATE_TIME, dynamicStore,
+        assetIssueStore);
+    Assert.assertEquals(expected.getInstance(), actual.getInstance());
+  }
+
+  @Test
+  public void normalAccountMatchesConstructor() {
+    Random random = new Random(1);
+    for (int i = 0; i < 8; i++) {
+      assertSameAsConstructor(randomAddress(random), true);
+    }
+  }
+
+  @Test
+  public void normalAccountForPlaceholderAddress() {
+    assertSameAsConstructor(ByteString.copyFrom(new byte[21]), true);
+    assertSameAsConstructor(randomAddress(new Random(2)), true);
+  }
+
+  @Test
+  public void normalAccountWithoutMultiSign() {
+    when(dynamicStore.getAllowMultiSign()).thenReturn(0L);
+    assertSameAsConstructor(randomAddress(new Random(3)), false);
+  }
+
+  @Test
+  public void templateFollowsParameterChanges() {
+    Random random = new Random(4);
+    assertSameAsConstructor(randomAddress(random), true);
+    setOperations((byte) 0x3f);
+    assertSameAsConstructor(randomAddress(random), true);
+    setOperations((byte) 0x7f);
+    assertSameAsConstructor(randomAddress(random), true);
+  }
+
+  @Test
+  public void createdAccountMatchesConstructor() {
+    Random random = new Random(5);
+    ByteString[] addresses = {randomAddress(random), ByteString.copyFrom(new byte[21])};
+    AccountType[] types = {AccountType.Normal, AccountType.AssetIssue, AccountType.Contract};
+    for (ByteString address : addresses) {
+      for (AccountType type : types) {
+        AccountCreateContract contract = AccountCreateContract.newBuilder()
+            .setOwnerAddress(randomAddress(random))
+            .setAccountAddress(address)
+            .setType(type)
+            .build();
+        AccountCapsule expected = new AccountCapsule(contract, CREATE_TIME, true, dynamicStore);
+        AccountCapsule actual = AccountTemplates.newAccount(contract, CREATE_TIME, dynamicStore);
+        Assert.assertEquals(expected.getInstance(), actual.getInstance());
+      }
+    }
+  }
+}
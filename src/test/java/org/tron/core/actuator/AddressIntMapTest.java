@@ -0,0 +1,69 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AddressIntMapTest {
+
+  private static Address randomAddress(Random random) {
+    byte[] address = new byte[Address.LENGTH];
+    random.nextBytes(address);
+    address[0] = 0x41;
+    return Address.of(address);
+  }
+
+  @Test
+  public void missingValue() {
+    Address address = randomAddress(new Random(1));
+    AddressIntMap map = new AddressIntMap(0, -1);
+    Assert.assertEquals(-1, map.get(address));
+    Assert.assertEquals(-1, map.get(address.toByteArray()));
+    Assert.assertEquals(-1, map.remove(address));
+    Assert.assertEquals(-1, map.put(address, 0));
+    Assert.assertEquals(0, map.get(address));
+    Assert.assertEquals(0, map.put(address, 5));
+    Assert.assertEquals(5, map.remove(address));
+    Assert.assertFalse(map.containsKey(address));
+  }
+
+  @Test
+  public void matchesHashMapThroughResizes() {
+    Random random = new Random(2);
+    List<Address> keys = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      keys.add(randomAddress(random));
+    }
+    AddressIntMap map = new AddressIntMap(1, Integer.MIN_VALUE);
+    Map<ByteString, Integer> expected = new HashMap<>();
+    for (int step = 0; step < 200_000; step++) {
+      Address key = keys.get(random.nextInt(keys.size()));
+      ByteString expectedKey = key.toByteString();
+      Integer previous;
+      int actual;
+      if (random.nextInt(step < 20_000 ? 10 : 2) == 0) {
+        previous = expected.remove(expectedKey);
+        actual = map.remove(key);
+      } else {
+        previous = expected.put(expectedKey, step);
+        actual = map.put(key, step);
+      }
+      Assert.assertEquals(previous == null ? Integer.MIN_VALUE : previous, actual);
+      Assert.assertEquals(expected.size(), map.size());
+    }
+    for (Address key : keys) {
+      Integer value = expected.get(key.toByteString());
+      Assert.assertEquals(value != null, map.containsKey(key.toByteArray()));
+      Assert.assertEquals(value == null ? Integer.MIN_VALUE : value, map.get(key.toByteArray()));
+    }
+
+    map.clear();
+    Assert.assertEquals(0, map.size());
+    Assert.assertFalse(map.containsKey(keys.get(0)));
+  }
+}
@@ -0,0 +1,193 @@
+package org.tron.core.actuator;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AddressMapTest {
+
+  // the table of a map created for up to 8 entries
+  private static final int SLOTS = 16;
+
+  private static byte[] randomAddress(Random random) {
+    byte[] address = new byte[Address.LENGTH];
+    random.nextBytes(address);
+    address[0] = 0x41;
+    return address;
+  }
+
+  private static int home(byte[] address) {
+    Address key = Address.of(address);
+    return Address.hash(key.prefix, key.high, key.low, key.tail) & (SLOTS - 1);
+  }
+
+  /**
+   * @return addresses whose home slot in a table of {@link #SLOTS} is {@code homes[i]}.
+   */
+  private static byte[][] withHomes(int... homes) {
+    Random random = new Random(1);
+    byte[][] addresses = new byte[homes.length][];
+    for (int i = 0; i < homes.length; i++) {
+      byte[] address;
+      do {
+        address = randomAddress(random);
+      } while (home(address) != homes[i]);
+      addresses[i] = address;
+    }
+    return addresses;
+  }
+
+  private static void assertContainsExactly(AddressMap<Integer> map, byte[][] addresses,
+      int removed) {
+    Assert.assertEquals(addresses.length - 1, map.size());
+    for (int i = 0; i < addresses.length; i++) {
+      if (i == removed) {
+        Assert.assertFalse(map.containsKey(addresses[i]));
+        Assert.assertNull(map.get(addresses[i]));
+      } else {
+        Assert.assertEquals(Integer.valueOf(i), map.get(addresses[i]));
+        Assert.assertEquals(Integer.valueOf(i), map.get(Address.of(addresses[i])));
+      }
+    }
+  }
+
+  @Test
+  public void removeAcrossWrappedProbeChain() {
+    // the chain starts in the last slot and continues at the front of the table: the first three
+    // entries live in slots 15, 0 and 1, the one homed at 0 in slot 2, the one homed at 1 in 3
+    assertRemovable(withHomes(15, 15, 15, 0, 1));
+    // the entry homed at 0 is in its home slot right after the wrap and must stay there
+    assertRemovable(withHomes(15, 0, 15, 1));
+  }
+
+  private static void assertRemovable(byte[][] addresses) {
+    for (int removed = 0; removed < addresses.length; removed++) {
+      AddressMap<Integer> map = new AddressMap<>(SLOTS / 2);
+      for (int i = 0; i < addresses.length; i++) {
+        map.put(addresses[i], i);
+      }
+      Assert.assertEquals(Integer.valueOf(removed), map.remove(addresses[removed]));
+      assertContainsExactly(map, addresses, removed);
+      Assert.assertNull(map.remove(addresses[removed]));
+
+      // every slot freed by the shift is reusable
+      map.put(addresses[removed], removed);
+      Assert.assertEquals(addresses.length, map.size());
+      for (int i = 0; i < addresses.length; i++) {
+        Assert.assertEquals(Integer.valueOf(i), map.get(addresses[i]));
+      }
+    }
+  }
+
+  @Test
+  public void removeKeepsEntryAtItsHome() {
+    // the entry homed at 1 follows the chain of 0 but is in its own home slot and must stay
+    byte[][] addresses = withHomes(0, 1, 0);
+    AddressMap<Integer> map = new AddressMap<>(SLOTS / 2);
+    for (int i = 0; i < addresses.length; i++) {
+      map.put(addresses[i], i);
+    }
+    map.remove(addresses[0]);
+    assertContainsExactly(map, addresses, 0);
+  }
+
+  @Test
+  public void matchesHashMapThroughResizes() {
+    Random random = new Random(2);
+    List<byte[]> keys = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) {
+      keys.add(randomAddress(random));
+    }
+    AddressMap<Integer> map = new AddressMap<>(1);
+    Map<ByteString, Integer> expected = new HashMap<>();
+    for (int step = 0; step < 200_000; step++) {
+      byte[] key = keys.get(random.nextInt(keys.size()));
+      ByteString expectedKey = ByteString.copyFrom(key);
+      // mostly puts early on, so the map grows, then as many removes as puts
+      if (random.nextInt(step < 20_000 ? 10 : 2) == 0) {
+        Assert.assertEquals(expected.remove(expectedKey), map.remove(key));
+      } else {
+        Assert.assertEquals(expected.put(expectedKey, step), map.put(key, step));
+      }
+      Assert.assertEquals(expected.size(), map.size());
+      Assert.assertEquals(expected.containsKey(expectedKey), map.containsKey(key));
+    }
+
+    Map<ByteString, Integer> actual = new HashMap<>();
+    map.forEach((address, value) -> actual.put(address.toByteString(), value));
+    Assert.assertEquals(expected, actual);
+
+    map.clear();
+    Assert.assertTrue(map.isEmpty());
+    for (byte[] key : keys) {
+      Assert.assertFalse(map.containsKey(key));
+    }
+  }
+
+  @Test
+  public void nullValues() {
+    byte[] address = randomAddress(new Random(3));
+    AddressMap<Integer> map = new AddressMap<>();
+    Assert.assertNull(map.put(address, null));
+    Assert.assertTrue(map.containsKey(address));
+    Assert.assertNull(map.get(address));
+    Assert.assertEquals(1, map.size());
+    Assert.assertNull(map.remove(address));
+    Assert.assertFalse(map.containsKey(address));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongAddressLength() {
+    new AddressMap<Integer>().get(new byte[20]);
+  }
+
+  @Test
+  public void rejectsMoreThanTwoToTheThirtySlots() {
+    new AddressMap<Integer>(0);
+    for (int expectedSize : new int[]{(1 << 29) + 1, 1 << 30, Integer.MAX_VALUE}) {
+      try {
+        new AddressMap<Integer>(expectedSize);
+        Assert.fail();
+      } catch (IllegalArgumentException e) {
+        Assert.assertTrue(e.getMessage().contains(String.valueOf(expectedSize)));
+      }
+    }
+  }
+
+  @Test
+  public void setAcrossResizes() {
+    Random random = new Random(4);
+    AddressSet set = new AddressSet(SLOTS / 2);
+    Set<ByteString> expected = new HashSet<>();
+    byte[][] chain = withHomes(15, 15, 0);
+    for (byte[] address : chain) {
+      Assert.assertTrue(set.add(address));
+      expected.add(ByteString.copyFrom(address));
+    }
+    for (int i = 0; i < 5_000; i++) {
+      byte[] address = randomAddress(random);
+      Assert.assertEquals(expected.add(ByteString.copyFrom(address)), set.add(address));
+      Assert.assertFalse(set.add(Address.of(address)));
+    }
+    Assert.assertEquals(expected.size(), set.size());
+    for (byte[] address : chain) {
+      Assert.assertTrue(set.contains(address));
+      Assert.assertTrue(set.contains(Address.of(address)));
+    }
+    Set<ByteString> actual = new HashSet<>();
+    set.forEach(address -> actual.add(address.toByteString()));
+    Assert.assertEquals(expected, actual);
+    Assert.assertFalse(set.contains(randomAddress(random)));
+
+    set.clear();
+    Assert.assertEquals(0, set.size());
+    Assert.assertFalse(set.contains(chain[0]));
+  }
+}
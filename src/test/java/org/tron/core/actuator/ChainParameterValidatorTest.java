@@ -0,0 +1,92 @@
+package org.tron.core.actuator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.utils.ForkUtils;
+import org.tron.core.config.Parameter.ChainParameters;
+import org.tron.core.config.args.Parameter.ForkBlockVersionEnum;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.store.DynamicPropertiesStore;
+
+public class ChainParameterValidatorTest {
+
+  // the ids proposals use on chain, in id order
+  private static final String[] PROTOCOL_IDS = {
+      "MAINTENANCE_TIME_INTERVAL", "ACCOUNT_UPGRADE_COST", "CREATE_ACCOUNT_FEE",
+      "TRANSACTION_FEE", "ASSET_ISSUE_FEE", "WITNESS_PAY_PER_BLOCK", "WITNESS_STANDBY_ALLOWANCE",
+      "CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT", "CREATE_NEW_ACCOUNT_BANDWIDTH_RATE",
+      "ALLOW_CREATION_OF_CONTRACTS", "REMOVE_THE_POWER_OF_THE_GR", "ENERGY_FEE",
+      "EXCHANGE_CREATE_FEE", "MAX_CPU_TIME_OF_ONE_TX", "ALLOW_UPDATE_ACCOUNT_NAME",
+      "ALLOW_SAME_TOKEN_NAME", "ALLOW_DELEGATE_RESOURCE", "TOTAL_ENERGY_LIMIT",
+      "ALLOW_TVM_TRANSFER_TRC10", "TOTAL_CURRENT_ENERGY_LIMIT", "ALLOW_MULTI_SIGN",
+      "ALLOW_ADAPTIVE_ENERGY", "UPDATE_ACCOUNT_PERMISSION_FEE", "MULTI_SIGN_FEE",
+      "ALLOW_PROTO_FILTER_NUM", "ALLOW_ACCOUNT_STATE_ROOT", "ALLOW_TVM_CONSTANTINOPLE",
+      "ALLOW_SHIELDED_TRANSACTION", "SHIELDED_TRANSACTION_FEE", "ALLOW_TVM_SOLIDITY_059"};
+
+  private DynamicPropertiesStore dynamicStore;
+  private ForkUtils forkUtils;
+
+  @Before
+  public void init() {
+    dynamicStore = mock(DynamicPropertiesStore.class);
+    forkUtils = mock(ForkUtils.class);
+  }
+
+  private void assertRejected(long key, long value, String message) {
+    try {
+      new ChainParameterValidator(dynamicStore, forkUtils).validate(key, value);
+      Assert.fail("parameter " + key + " = " + value + " was accepted");
+    } catch (ContractValidateException e) {
+      Assert.assertEquals(message, e.getMessage());
+    }
+  }
+
+  @Test
+  public void idsMatchProtocol() {
+    Assert.assertEquals(PROTOCOL_IDS.length, ChainParameters.values().length);
+    for (int id = 0; id < PROTOCOL_IDS.length; id++) {
+      Assert.assertEquals(PROTOCOL_IDS[id], id, ChainParameters.valueOf(PROTOCOL_IDS[id]).getId());
+    }
+  }
+
+  @Test
+  public void validKeys() {
+    for (ChainParameters parameter : ChainParameters.values()) {
+      Assert.assertTrue(ChainParameterValidator.isValidKey(parameter.getId()));
+    }
+    Assert.assertFalse(ChainParameterValidator.isValidKey(-1));
+    Assert.assertFalse(ChainParameterValidator.isValidKey(PROTOCOL_IDS.length));
+    Assert.assertFalse(ChainParameterValidator.isValidKey(Integer.MAX_VALUE + 1L));
+  }
+
+  @Test
+  public void rulesAreKeyedById() throws ContractValidateException {
+    assertRejected(0, 1000,
+        "Bad chain parameter value,valid range is [3 * 27 * 1000,24 * 3600 * 1000]");
+    assertRejected(9, 2, "This value[ALLOW_CREATION_OF_CONTRACTS] is only allowed to be 1");
+    assertRejected(13, 101, "Bad chain parameter value,valid range is [10,100]");
+    when(forkUtils.pass(ForkBlockVersionEnum.VERSION_3_6)).thenReturn(true);
+    assertRejected(24, 2, "This value[ALLOW_PROTO_FILTER_NUM] is only allowed to be 1 or 0");
+
+    // no rule
+    new ChainParameterValidator(dynamicStore, forkUtils).validate(11, -1);
+  }
+
+  @Test
+  public void forkAndPrerequisite() throws ContractValidateException {
+    when(forkUtils.pass(ForkBlockVersionEnum.VERSION_4_0)).thenReturn(false);
+    assertRejected(29, 1, "Bad chain parameter id");
+
+    when(forkUtils.pass(ForkBlockVersionEnum.VERSION_4_0)).thenReturn(true);
+    when(dynamicStore.getAllowCreationOfContracts()).thenReturn(0L);
+    assertRejected(29, 1, "[ALLOW_CREATION_OF_CONTRACTS] proposal must be approved "
+        + "before [ALLOW_TVM_SOLIDITY_059] can be proposed");
+
+    when(dynamicStore.getAllowCreationOfContracts()).thenReturn(1L);
+    new ChainParameterValidator(dynamicStore, forkUtils).validate(29, 1);
+  }
+}
@@ -0,0 +1,60 @@
+package org.tron.core.actuator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LongColumnTest {
+
+  @Test
+  public void unsetOrdinalsReadTheDefault() {
+    LongColumn column = new LongColumn(4, -7);
+    Assert.assertEquals(16, column.capacity());
+    Assert.assertEquals(-7, column.get(0));
+    Assert.assertEquals(-7, column.get(15));
+    Assert.assertEquals(-7, column.get(1_000));
+    Assert.assertEquals(-7, column.get(-1));
+    Assert.assertEquals(-7, column.get(Integer.MIN_VALUE));
+  }
+
+  @Test
+  public void growsWithDefaultFilled() {
+    LongColumn column = new LongColumn(16, 5);
+    column.set(3, 30);
+    column.set(40, 400);
+    Assert.assertEquals(41, column.capacity());
+    Assert.assertEquals(30, column.get(3));
+    Assert.assertEquals(400, column.get(40));
+    for (int ordinal = 16; ordinal < 40; ordinal++) {
+      Assert.assertEquals(5, column.get(ordinal));
+    }
+    Assert.assertEquals(10, column.add(39, 5));
+
+    column.set(41, 1);
+    Assert.assertEquals(82, column.capacity());
+    Assert.assertEquals(5, column.get(81));
+  }
+
+  @Test
+  public void zeroDefault() {
+    LongColumn column = new LongColumn(0, 0);
+    Assert.assertEquals(0, column.get(-1));
+    Assert.assertEquals(3, column.add(100, 3));
+    Assert.assertEquals(0, column.get(99));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void addOverflows() {
+    LongColumn column = new LongColumn(0, Long.MAX_VALUE);
+    column.add(0, 1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void setMissingOrdinal() {
+    new LongColumn(0, 0).set(-1, 1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void addMissingOrdinal() {
+    new LongColumn(0, 0).add(-1, 1);
+  }
+}
@@ -0,0 +1,77 @@
+package org.tron.core.actuator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.ByteString;
+import java.util.HashMap;
+import java.util.Map;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.store.AccountStore;
+
+/**
+ * An {@link AccountStore} over a map of serialized accounts. Like the real store, every get
+ * decodes a fresh capsule, so callers never share one.
+ */
+final class MemoryAccountStore {
+
+  private final Map<ByteString, byte[]> accounts = new HashMap<>();
+  private final AccountStore store = mock(AccountStore.class);
+  private int gets;
+  private int puts;
+
+  MemoryAccountStore(byte[] blackholeAddress) {
+    when(store.get(any())).thenAnswer(invocation -> get(invocation.getArgument(0)));
+    when(store.getUnchecked(any())).thenAnswer(invocation -> get(invocation.getArgument(0)));
+    when(store.has(any())).thenAnswer(
+        invocation -> accounts.containsKey(ByteString.copyFrom((byte[]) invocation.getArgument(0))));
+    when(store.getBlackhole()).thenAnswer(invocation -> get(blackholeAddress));
+    doAnswer(invocation -> {
+      byte[] key = invocation.getArgument(0);
+      AccountCapsule account = invocation.getArgument(1);
+      puts++;
+      accounts.put(ByteString.copyFrom(key), account.getData());
+      return null;
+    }).when(store).put(any(), any());
+    doAnswer(invocation -> {
+      accounts.remove(ByteString.copyFrom((byte[]) invocation.getArgument(0)));
+      return null;
+    }).when(store).delete(any());
+  }
+
+  /**
+   * A counted read, as the store answers it.
+   */
+  AccountCapsule get(byte[] key) {
+    gets++;
+    byte[] data = accounts.get(ByteString.copyFrom(key));
+    return data == null ? null : new AccountCapsule(data);
+  }
+
+  AccountStore getStore() {
+    return store;
+  }
+
+  void put(AccountCapsule account) {
+    accounts.put(account.getAddress(), account.getData());
+  }
+
+  AccountCapsule getAccount(byte[] address) {
+    byte[] data = accounts.get(ByteString.copyFrom(address));
+    return data == null ? null : new AccountCapsule(data);
+  }
+
+  Map<ByteString, byte[]> getAccounts() {
+    return accounts;
+  }
+
+  int getGets() {
+    return gets;
+  }
+
+  int getPuts() {
+    return puts;
+  }
+}
@@ -0,0 +1,209 @@
+package org.tron.core.actuator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.actuator.OffHeapAccountCache.WriteNotifier;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.protos.Protocol.Account;
+
+public class OffHeapAccountCacheTest {
+
+  private static final int SLOT_SIZE = 128;
+
+  private final OffHeapAccountCache cache = OffHeapAccountCache.getInstance();
+  private final RecordingNotifier writes = new RecordingNotifier();
+  private MemoryAccountStore accounts;
+
+  private static byte[] address(int last) {
+    byte[] address = new byte[Address.LENGTH];
+    address[0] = 0x41;
+    address[20] = (byte) last;
+    return address;
+  }
+
+  private static AccountCapsule account(int last, long balance) {
+    return new AccountCapsule(Account.newBuilder()
+        .setAddress(ByteString.copyFrom(address(last))).setBalance(balance).build());
+  }
+
+  @Before
+  public void init() {
+    accounts = new MemoryAccountStore(address(0));
+    for (int i = 1; i <= 5; i++) {
+      accounts.put(account(i, i * 100));
+    }
+  }
+
+  @After
+  public void destroy() {
+    cache.disable();
+  }
+
+  private void open(int slots) {
+    cache.activate((long) slots * SLOT_SIZE, SLOT_SIZE);
+    cache.open(accounts.getStore(), writes);
+  }
+
+  private long balance(int last) {
+    return cache.get(accounts.getStore(), address(last)).getBalance();
+  }
+
+  /**
+   * @return whether reading the account went to the store.
+   */
+  private boolean missed(int last) {
+    int gets = accounts.getGets();
+    balance(last);
+    return accounts.getGets() != gets;
+  }
+
+  @Test
+  public void clockGivesReferencedSlotsASecondChance() {
+    open(3);
+    Assert.assertTrue(missed(1));
+    Assert.assertTrue(missed(2));
+    Assert.assertTrue(missed(3));
+    Assert.assertFalse(missed(1));
+    Assert.assertEquals(3, cache.size());
+
+    // every slot is referenced: the hand clears them all and comes back to evict 1
+    Assert.assertTrue(missed(4));
+    Assert.assertEquals(1, cache.getEvictions());
+    // 2 is referenced again, so the next miss evicts 3 and keeps 2
+    Assert.assertFalse(missed(2));
+    Assert.assertTrue(missed(5));
+    Assert.assertEquals(2, cache.getEvictions());
+    Assert.assertFalse(missed(2));
+    Assert.assertFalse(missed(4));
+    Assert.assertFalse(missed(5));
+    Assert.assertTrue(missed(3));
+    Assert.assertTrue(missed(1));
+
+    Assert.assertEquals(3, cache.size());
+    Assert.assertEquals(7, cache.getMisses());
+    Assert.assertEquals(5, cache.getHits());
+  }
+
+  @Test
+  public void oversizedAccountsAreNotCached() {
+    open(3);
+    AccountCapsule large = new AccountCapsule(Account.newBuilder()
+        .setAddress(ByteString.copyFrom(address(1)))
+        .setAccountName(ByteString.copyFrom(new byte[SLOT_SIZE])).build());
+    accounts.put(large);
+    Assert.assertTrue(missed(1));
+    Assert.assertTrue(missed(1));
+    Assert.assertEquals(2, cache.getOversized());
+    Assert.assertEquals(0, cache.size());
+  }
+
+  /**
+   * Makes the next store read answer {@code stale} and runs {@code write} while that read is in
+   * progress, like a write landing between the read and the cache fill.
+   */
+  private void raceNextRead(AccountCapsule stale, Runnable write) {
+    doAnswer(invocation -> {
+      write.run();
+      return new AccountCapsule(stale.getData());
+    }).doAnswer(invocation -> accounts.get(invocation.getArgument(0)))
+        .when(accounts.getStore()).get(any());
+  }
+
+  @Test
+  public void updateDuringStoreReadWins() {
+    open(3);
+    AccountCapsule newer = account(1, 1_000);
+    raceNextRead(account(1, 100), () -> {
+      accounts.put(newer);
+      cache.update(accounts.getStore(), address(1), newer);
+    });
+    Assert.assertEquals(100, balance(1));
+
+    // the stale read did not replace the newer entry
+    Assert.assertFalse(missed(1));
+    Assert.assertEquals(1_000, balance(1));
+  }
+
+  @Test
+  public void invalidationDuringStoreReadWins() {
+    open(3);
+    raceNextRead(account(1, 100), () -> {
+      accounts.put(account(1, 2_000));
+      writes.report(address(1));
+    });
+    Assert.assertEquals(100, balance(1));
+
+    // the stale read was not cached
+    Assert.assertTrue(missed(1));
+    Assert.assertEquals(2_000, balance(1));
+  }
+
+  @Test
+  public void reportedWritesInvalidate() {
+    open(3);
+    Assert.assertTrue(missed(1));
+    Assert.assertFalse(missed(1));
+    accounts.put(account(1, 5));
+    writes.report(address(1));
+    Assert.assertTrue(missed(1));
+    Assert.assertEquals(5, balance(1));
+  }
+
+  @Test
+  public void closeUnregisters() {
+    open(3);
+    Assert.assertEquals(1, writes.listeners.size());
+    // reopening replaces the listener
+    cache.open(accounts.getStore(), writes);
+    Assert.assertEquals(1, writes.listeners.size());
+    cache.close();
+    Assert.assertTrue(writes.listeners.isEmpty());
+    Assert.assertFalse(cache.isOpen());
+    Assert.assertTrue(missed(1));
+    Assert.assertTrue(missed(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void openNeedsWriteNotifier() {
+    cache.activate(3 * SLOT_SIZE, SLOT_SIZE);
+    cache.open(accounts.getStore(), null);
+  }
+
+  @Test
+  public void openNeedsActiveCache() {
+    try {
+      cache.open(accounts.getStore(), writes);
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertTrue(writes.listeners.isEmpty());
+    }
+  }
+
+  private static final class RecordingNotifier implements WriteNotifier {
+
+    private final List<Consumer<byte[]>> listeners = new ArrayList<>();
+
+    @Override
+    public void addListener(Consumer<byte[]> listener) {
+      listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(Consumer<byte[]> listener) {
+      listeners.remove(listener);
+    }
+
+    private void report(byte[] address) {
+      listeners.forEach(listener -> listener.accept(address));
+    }
+  }
+}
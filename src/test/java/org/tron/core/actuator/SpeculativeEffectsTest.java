@@ -0,0 +1,162 @@
+package org.tron.core.actuator;
+
+import static org.mockito.Mockito.mock;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.actuator.pipeline.PipelineResult;
+import org.tron.core.actuator.pipeline.SpeculativeBlockExecutor;
+import org.tron.core.actuator.pipeline.SpeculativeBlockExecutor.Session;
+import org.tron.core.actuator.pipeline.SpeculativeBlockExecutor.Speculation;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.DynamicPropertiesStore;
+
+public class SpeculativeEffectsTest {
+
+  private final List<Integer> applied = Collections.synchronizedList(new ArrayList<>());
+  private final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+  private RecordingSession session;
+  private SpeculativeBlockExecutor executor;
+
+  @Before
+  public void init() {
+    session = new RecordingSession();
+    executor = new SpeculativeBlockExecutor(() -> session);
+  }
+
+  @After
+  public void destroy() {
+    executor.close();
+  }
+
+  private List<EffectActuator> block(int size, int failAt) {
+    List<EffectActuator> actuators = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      actuators.add(new EffectActuator(i, i == failAt));
+    }
+    return actuators;
+  }
+
+  @Test
+  public void appliedAtOnceOutsideSpeculation() throws Exception {
+    Assert.assertFalse(SpeculativeEffects.isSpeculating());
+    block(1, -1).get(0).execute(new TransactionResultCapsule());
+    Assert.assertEquals(Collections.singletonList(0), applied);
+  }
+
+  @Test(timeout = 30_000)
+  public void promotedWithTheSession() throws InterruptedException {
+    Speculation speculation = executor.speculate(s -> block(10, -1), 7L);
+    List<PipelineResult> results = executor.complete(speculation, 7L);
+
+    Assert.assertEquals(10, results.size());
+    Assert.assertTrue(session.promoted);
+    Assert.assertFalse(session.discarded);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      expected.add(i);
+      Assert.assertTrue(results.get(i).isSuccess());
+    }
+    Assert.assertEquals(expected, applied);
+  }
+
+  @Test(timeout = 30_000)
+  public void failedBlockIsDiscarded() throws InterruptedException {
+    Speculation speculation = executor.speculate(s -> block(10, 3), 7L);
+    Assert.assertNull(executor.complete(speculation, 7L));
+
+    Assert.assertFalse(session.promoted);
+    Assert.assertTrue(session.discarded);
+    Assert.assertTrue(applied.isEmpty());
+    // execution stopped at the failing transaction
+    Assert.assertEquals(Arrays.asList(0, 1, 2), executed);
+  }
+
+  @Test(timeout = 30_000)
+  public void changedParentIsDiscarded() throws InterruptedException {
+    Speculation speculation = executor.speculate(s -> block(10, -1), 7L);
+    Assert.assertNull(executor.complete(speculation, 8L));
+
+    Assert.assertFalse(session.promoted);
+    Assert.assertTrue(session.discarded);
+    Assert.assertTrue(applied.isEmpty());
+  }
+
+  @Test(timeout = 30_000)
+  public void speculationEndsWithTheBlock() throws InterruptedException {
+    Speculation speculation = executor.speculate(s -> {
+      throw new IllegalStateException("no actuators");
+    }, 7L);
+    Assert.assertNull(executor.complete(speculation, 7L));
+    Assert.assertTrue(session.discarded);
+
+    // the executor thread no longer holds effects back
+    speculation = executor.speculate(s -> block(2, -1), 7L);
+    Assert.assertEquals(2, executor.complete(speculation, 7L).size());
+    Assert.assertEquals(Arrays.asList(0, 1), applied);
+  }
+
+  private static final class RecordingSession implements Session {
+
+    private volatile boolean promoted;
+    private volatile boolean discarded;
+
+    @Override
+    public void promote() {
+      promoted = true;
+    }
+
+    @Override
+    public void discard() {
+      discarded = true;
+    }
+  }
+
+  private final class EffectActuator extends AbstractActuator {
+
+    private final int index;
+    private final boolean invalid;
+
+    private EffectActuator(int index, boolean invalid) {
+      super(Any.getDefaultInstance(), mock(AccountStore.class),
+          mock(DynamicPropertiesStore.class));
+      this.index = index;
+      this.invalid = invalid;
+    }
+
+    @Override
+    public boolean validate() throws ContractValidateException {
+      if (invalid) {
+        throw new ContractValidateException("invalid " + index);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean execute(TransactionResultCapsule result) {
+      executed.add(index);
+      applyEffect(() -> applied.add(index), () -> applied.remove(Integer.valueOf(index)));
+      return true;
+    }
+
+    @Override
+    public ByteString getOwnerAddress() {
+      return ByteString.EMPTY;
+    }
+
+    @Override
+    public long calcFee() {
+      return 0;
+    }
+  }
+}
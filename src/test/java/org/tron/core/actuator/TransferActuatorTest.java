@@ -0,0 +1,152 @@
+package org.tron.core.actuator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.store.AssetIssueStore;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Contract.TransferContract;
+import org.tron.protos.Protocol.Account;
+
+/**
+ * Checks the single pass {@link TransferActuator#execute} against the generic
+ * {@link TransferActuator#executeReference}.
+ */
+public class TransferActuatorTest {
+
+  private static final long CREATE_ACCOUNT_FEE = 1_000_000L;
+  private static final byte[] BLACKHOLE = address(0);
+  private static final byte[] OWNER = address(1);
+  private static final byte[] RECIPIENT = address(2);
+  private static final byte[] POOR = address(3);
+  private static final byte[] RICH = address(4);
+  private static final byte[] NEW_ACCOUNT = address(10);
+
+  private DynamicPropertiesStore dynamicStore;
+  private AssetIssueStore assetIssueStore;
+
+  private static byte[] address(int last) {
+    byte[] address = new byte[21];
+    address[0] = 0x41;
+    address[20] = (byte) last;
+    return address;
+  }
+
+  @Before
+  public void init() {
+    dynamicStore = mock(DynamicPropertiesStore.class);
+    assetIssueStore = mock(AssetIssueStore.class);
+    when(dynamicStore.getCreateNewAccountFeeInSystemContract()).thenReturn(CREATE_ACCOUNT_FEE);
+    when(dynamicStore.getLatestBlockHeaderTimestamp()).thenReturn(1_565_000_000_000L);
+  }
+
+  private static void put(MemoryAccountStore store, byte[] address, long balance) {
+    store.put(new AccountCapsule(Account.newBuilder()
+        .setAddress(ByteString.copyFrom(address)).setBalance(balance).build()));
+  }
+
+  private static MemoryAccountStore newStore() {
+    MemoryAccountStore store = new MemoryAccountStore(BLACKHOLE);
+    put(store, BLACKHOLE, 50_000_000);
+    put(store, OWNER, 100_000_000);
+    put(store, RECIPIENT, 7);
+    put(store, POOR, 500_000);
+    put(store, RICH, Long.MAX_VALUE - 5);
+    return store;
+  }
+
+  private static Map<ByteString, ByteString> accounts(MemoryAccountStore store) {
+    Map<ByteString, ByteString> accounts = new HashMap<>();
+    store.getAccounts().forEach((key, value) -> accounts.put(key, ByteString.copyFrom(value)));
+    return accounts;
+  }
+
+  /**
+   * @return the accounts, the fee and result of the transaction and its failure, if any.
+   */
+  private List<Object> run(byte[] from, byte[] to, long amount, boolean reference) {
+    MemoryAccountStore store = newStore();
+    Map<ByteString, ByteString> before = accounts(store);
+    TransferActuator actuator = new TransferActuator(Any.pack(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(from))
+        .setToAddress(ByteString.copyFrom(to))
+        .setAmount(amount)
+        .build()), store.getStore(), assetIssueStore, dynamicStore);
+    TransactionResultCapsule result = new TransactionResultCapsule();
+    String failure = null;
+    try {
+      if (reference) {
+        actuator.executeReference(result);
+      } else {
+        actuator.execute(result);
+      }
+    } catch (ContractExeException e) {
+      failure = e.getMessage();
+      if (!reference) {
+        Assert.assertEquals(before, accounts(store));
+      }
+    }
+    // the generic path may have written part of a failed transfer, which is reverted anyway
+    Object state = failure != null ? null : accounts(store);
+    return Arrays.asList(state, result.getFee(), result.getInstance(), failure);
+  }
+
+  private void assertSameAsReference(byte[] from, byte[] to, long amount) {
+    List<Object> expected = run(from, to, amount, true);
+    Assert.assertEquals(expected, run(from, to, amount, false));
+  }
+
+  @Test
+  public void newRecipient() {
+    assertSameAsReference(OWNER, NEW_ACCOUNT, 5_000_000);
+    Assert.assertEquals(CREATE_ACCOUNT_FEE, run(OWNER, NEW_ACCOUNT, 5_000_000, false).get(1));
+  }
+
+  @Test
+  public void existingRecipientWithoutFee() {
+    assertSameAsReference(OWNER, RECIPIENT, 5_000_000);
+    assertSameAsReference(OWNER, RECIPIENT, 100_000_000);
+    Assert.assertEquals(0L, run(OWNER, RECIPIENT, 5_000_000, false).get(1));
+  }
+
+  @Test
+  public void blackholeAsOwner() {
+    assertSameAsReference(BLACKHOLE, RECIPIENT, 1_000);
+    assertSameAsReference(BLACKHOLE, NEW_ACCOUNT, 1_000);
+  }
+
+  @Test
+  public void blackholeAsRecipient() {
+    assertSameAsReference(OWNER, BLACKHOLE, 1_000);
+    assertSameAsReference(POOR, BLACKHOLE, 500_000);
+  }
+
+  @Test
+  public void insufficientBalance() {
+    assertSameAsReference(OWNER, RECIPIENT, 100_000_001);
+    // the new account fee alone is more than the balance
+    assertSameAsReference(POOR, NEW_ACCOUNT, 1);
+    // the fee is covered, the amount is not
+    assertSameAsReference(OWNER, NEW_ACCOUNT, 99_500_000);
+    Assert.assertNotNull(run(OWNER, RECIPIENT, 100_000_001, false).get(3));
+  }
+
+  @Test
+  public void overflow() {
+    assertSameAsReference(OWNER, RICH, 10);
+    Assert.assertNotNull(run(OWNER, RICH, 10, false).get(3));
+    assertSameAsReference(OWNER, RICH, 5);
+  }
+}
@@ -0,0 +1,224 @@
+package org.tron.core.actuator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.store.AssetIssueStore;
+import org.tron.core.store.AssetIssueV2Store;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Contract.TransferAssetContract;
+import org.tron.protos.Contract.TransferContract;
+import org.tron.protos.Protocol.Account;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+public class TransferBatchExecutorTest {
+
+  private static final byte[] BLACKHOLE = address(0);
+  private static final byte[][] OWNERS = {address(1), address(2), address(3), address(4)};
+  private static final byte[] NEW_A = address(10);
+  private static final byte[] NEW_B = address(11);
+  private static final byte[][] NEW_ACCOUNTS = {NEW_A, NEW_B};
+  private static final String TOKEN = "1000001";
+
+  private DynamicPropertiesStore dynamicStore;
+  private AssetIssueStore assetIssueStore;
+  private AssetIssueV2Store assetIssueV2Store;
+
+  private static byte[] address(int last) {
+    byte[] address = new byte[21];
+    address[0] = 0x41;
+    address[20] = (byte) last;
+    return address;
+  }
+
+  @Before
+  public void init() {
+    dynamicStore = mock(DynamicPropertiesStore.class);
+    when(dynamicStore.getAllowSameTokenName()).thenReturn(1L);
+    when(dynamicStore.getCreateNewAccountFeeInSystemContract()).thenReturn(1_000_000L);
+    when(dynamicStore.getLatestBlockHeaderTimestamp()).thenReturn(1_565_000_000_000L);
+    assetIssueStore = mock(AssetIssueStore.class);
+    assetIssueV2Store = mock(AssetIssueV2Store.class);
+    when(assetIssueStore.has(any())).thenReturn(true);
+    when(assetIssueV2Store.has(any())).thenReturn(true);
+  }
+
+  @After
+  public void destroy() {
+    AccountOrdinalIndex.getInstance().disable();
+  }
+
+  private static MemoryAccountStore newStore() throws IOException {
+    MemoryAccountStore store = new MemoryAccountStore(BLACKHOLE);
+    store.put(new AccountCapsule(Account.newBuilder()
+        .setAddress(ByteString.copyFrom(BLACKHOLE)).setBalance(50_000_000).build()));
+    for (byte[] owner : OWNERS) {
+      store.put(new AccountCapsule(Account.newBuilder()
+          .setAddress(ByteString.copyFrom(owner)).setBalance(100_000_000)
+          .putAssetV2(TOKEN, 1_000).build()));
+    }
+
+    // the ordinal index starts out with the existing accounts
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(OWNERS.length + 1);
+    out.write(BLACKHOLE);
+    for (byte[] owner : OWNERS) {
+      out.write(owner);
+    }
+    AccountOrdinalIndex.getInstance().readFrom(new ByteArrayInputStream(bytes.toByteArray()));
+    return store;
+  }
+
+  private static Any transfer(byte[] from, byte[] to, long amount) {
+    return Any.pack(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(from))
+        .setToAddress(ByteString.copyFrom(to))
+        .setAmount(amount)
+        .build());
+  }
+
+  private static Any transferAsset(byte[] from, byte[] to, long amount) {
+    return Any.pack(TransferAssetContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(from))
+        .setToAddress(ByteString.copyFrom(to))
+        .setAssetName(ByteString.copyFromUtf8(TOKEN))
+        .setAmount(amount)
+        .build());
+  }
+
+  /**
+   * The accounts, fees and ordinals after the transactions, comparable between runs.
+   */
+  private static List<Object> state(MemoryAccountStore store,
+      List<TransactionResultCapsule> results) {
+    Map<ByteString, ByteString> accounts = new HashMap<>();
+    store.getAccounts().forEach((key, value) -> accounts.put(key, ByteString.copyFrom(value)));
+    List<Long> fees = new ArrayList<>();
+    results.forEach(result -> fees.add(result.getFee()));
+    AccountOrdinalIndex ordinals = AccountOrdinalIndex.getInstance();
+    List<Integer> created = new ArrayList<>();
+    for (byte[] address : NEW_ACCOUNTS) {
+      created.add(ordinals.ordinal(address));
+    }
+    return Arrays.asList(accounts, fees, created, ordinals.size());
+  }
+
+  private List<Object> runBatch(ContractType type, List<Any> contracts) throws Exception {
+    MemoryAccountStore store = newStore();
+    List<TransactionResultCapsule> results = new TransferBatchExecutor(store.getStore(),
+        assetIssueStore, assetIssueV2Store, dynamicStore).executeBatch(type, contracts);
+    return state(store, results);
+  }
+
+  private List<Object> runOneByOne(ContractType type, List<Any> contracts) throws Exception {
+    MemoryAccountStore store = newStore();
+    List<TransactionResultCapsule> results = new ArrayList<>();
+    for (Any contract : contracts) {
+      AbstractActuator actuator = type == ContractType.TransferContract
+          ? new TransferActuator(contract, store.getStore(), assetIssueStore, dynamicStore)
+          : new TransferAssetActuator(contract, store.getStore(), dynamicStore, assetIssueStore,
+              assetIssueV2Store);
+      actuator.validate();
+      TransactionResultCapsule result = new TransactionResultCapsule();
+      actuator.execute(result);
+      results.add(result);
+    }
+    return state(store, results);
+  }
+
+  private void assertSameAsOneByOne(ContractType type, List<Any> contracts) throws Exception {
+    List<Object> expected = runOneByOne(type, contracts);
+    AccountOrdinalIndex.getInstance().disable();
+    Assert.assertEquals(expected, runBatch(type, contracts));
+  }
+
+  @Test
+  public void transfersMatchOneByOne() throws Exception {
+    assertSameAsOneByOne(ContractType.TransferContract, Arrays.asList(
+        transfer(OWNERS[0], NEW_A, 5_000_000),
+        transfer(OWNERS[1], NEW_A, 7),
+        transfer(NEW_A, OWNERS[2], 3_000_000),
+        transfer(OWNERS[0], OWNERS[1], 11),
+        transfer(OWNERS[2], NEW_B, 2_000_000),
+        transfer(OWNERS[3], BLACKHOLE, 13),
+        transfer(BLACKHOLE, OWNERS[3], 17),
+        transfer(NEW_B, BLACKHOLE, 19)));
+  }
+
+  @Test
+  public void assetTransfersMatchOneByOne() throws Exception {
+    assertSameAsOneByOne(ContractType.TransferAssetContract, Arrays.asList(
+        transferAsset(OWNERS[0], NEW_A, 100),
+        transferAsset(OWNERS[1], NEW_A, 50),
+        transferAsset(NEW_A, OWNERS[2], 120),
+        transferAsset(OWNERS[2], NEW_B, 1_100),
+        transferAsset(OWNERS[3], OWNERS[0], 1)));
+  }
+
+  @Test
+  public void assetTransferToBlackholeMatchesOneByOne() throws Exception {
+    // takes the one by one fallback of the executor
+    assertSameAsOneByOne(ContractType.TransferAssetContract, Arrays.asList(
+        transferAsset(OWNERS[0], NEW_A, 100),
+        transferAsset(OWNERS[1], BLACKHOLE, 10),
+        transferAsset(OWNERS[2], NEW_B, 40),
+        transferAsset(NEW_B, BLACKHOLE, 5)));
+  }
+
+  @Test
+  public void failedBatchLeavesNoTrace() throws Exception {
+    MemoryAccountStore store = newStore();
+    Map<ByteString, byte[]> before = new HashMap<>(store.getAccounts());
+    try {
+      new TransferBatchExecutor(store.getStore(), assetIssueStore, assetIssueV2Store,
+          dynamicStore).executeBatch(ContractType.TransferContract, Arrays.asList(
+          transfer(OWNERS[0], NEW_A, 5_000_000),
+          transfer(OWNERS[1], NEW_B, 5_000_000),
+          transfer(OWNERS[2], OWNERS[2], 1)));
+      Assert.fail();
+    } catch (ContractValidateException e) {
+      Assert.assertEquals("Cannot transfer trx to yourself.", e.getMessage());
+    }
+    Assert.assertEquals(before, store.getAccounts());
+    Assert.assertEquals(OWNERS.length + 1, AccountOrdinalIndex.getInstance().size());
+    Assert.assertEquals(-1, AccountOrdinalIndex.getInstance().ordinal(NEW_A));
+    Assert.assertEquals(-1, AccountOrdinalIndex.getInstance().ordinal(NEW_B));
+  }
+
+  @Test
+  public void rollbackUndoesBatch() throws Exception {
+    MemoryAccountStore store = newStore();
+    List<Object> before = state(store, new ArrayList<>());
+    UndoJournal undoJournal = new UndoJournal();
+    TransferBatchExecutor executor = new TransferBatchExecutor(store.getStore(),
+        assetIssueStore, assetIssueV2Store, dynamicStore);
+    executor.setUndoJournal(undoJournal);
+    executor.executeBatch(ContractType.TransferContract, Arrays.asList(
+        transfer(OWNERS[0], NEW_A, 5_000_000),
+        transfer(NEW_A, NEW_B, 2_000_000)));
+    Assert.assertEquals(OWNERS.length + 3, AccountOrdinalIndex.getInstance().size());
+
+    undoJournal.rollback();
+    Assert.assertEquals(before, state(store, new ArrayList<>()));
+  }
+}
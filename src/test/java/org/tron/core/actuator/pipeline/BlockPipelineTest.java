@@ -0,0 +1,238 @@
+package org.tron.core.actuator.pipeline;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.core.actuator.Actuator;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ContractValidateException;
+
+public class BlockPipelineTest {
+
+  private BlockPipeline pipeline;
+
+  @Before
+  public void init() {
+    pipeline = new BlockPipeline(4, null);
+  }
+
+  @After
+  public void destroy() {
+    pipeline.close();
+  }
+
+  private enum Failure {
+    NONE,
+    VALIDATE,
+    EXECUTE,
+    RUNTIME,
+    ERROR,
+    DECODE
+  }
+
+  /**
+   * Appends its index to the shared state when executed, like a transaction changing the stores.
+   */
+  private static final class ScriptedActuator implements Actuator {
+
+    private final int index;
+    private final Failure failure;
+    private final List<Integer> state;
+    private final Thread storeThread;
+
+    private ScriptedActuator(int index, Failure failure, List<Integer> state,
+        Thread storeThread) {
+      this.index = index;
+      this.failure = failure;
+      this.state = state;
+      this.storeThread = storeThread;
+    }
+
+    @Override
+    public boolean validate() throws ContractValidateException {
+      Assert.assertSame(storeThread, Thread.currentThread());
+      if (failure == Failure.VALIDATE) {
+        throw new ContractValidateException("invalid " + index);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean execute(TransactionResultCapsule result) throws ContractExeException {
+      Assert.assertSame(storeThread, Thread.currentThread());
+      if (failure == Failure.EXECUTE) {
+        throw new ContractExeException("failed " + index);
+      }
+      if (failure == Failure.RUNTIME) {
+        throw new IllegalStateException("broken " + index);
+      }
+      if (failure == Failure.ERROR) {
+        throw new StackOverflowError("deep " + index);
+      }
+      state.add(index);
+      return true;
+    }
+
+    @Override
+    public ByteString getOwnerAddress() {
+      if (failure == Failure.DECODE) {
+        throw new IllegalArgumentException("undecodable " + index);
+      }
+      return ByteString.copyFrom(new byte[]{(byte) index});
+    }
+
+    @Override
+    public long calcFee() {
+      return 0;
+    }
+  }
+
+  private static List<Actuator> block(int size, int failAt, Failure failure,
+      List<Integer> state) {
+    List<Actuator> actuators = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      actuators.add(new ScriptedActuator(i, i == failAt ? failure : Failure.NONE, state,
+          Thread.currentThread()));
+    }
+    return actuators;
+  }
+
+  /**
+   * The loop the pipeline replaces.
+   */
+  private static List<Integer> runSequentially(List<Actuator> actuators) {
+    List<Integer> committed = new ArrayList<>();
+    for (int i = 0; i < actuators.size(); i++) {
+      PipelineResult result = new PipelineResult(i, actuators.get(i));
+      result.run();
+      committed.add(i);
+      if (!result.isSuccess()) {
+        break;
+      }
+    }
+    return committed;
+  }
+
+  private void assertSameAsSequential(int size, int failAt, Failure failure)
+      throws InterruptedException {
+    List<Integer> expectedState = new ArrayList<>();
+    List<Integer> expectedCommitted = runSequentially(
+        block(size, failAt, failure, expectedState));
+
+    List<Integer> state = new ArrayList<>();
+    List<Integer> committed = Collections.synchronizedList(new ArrayList<>());
+    List<PipelineResult> results = Collections.synchronizedList(new ArrayList<>());
+    pipeline.run(block(size, failAt, failure, state), result -> {
+      committed.add(result.getIndex());
+      results.add(result);
+    });
+
+    Assert.assertEquals(expectedState, state);
+    Assert.assertEquals(expectedCommitted, committed);
+    for (PipelineResult result : results) {
+      Assert.assertEquals(result.getIndex() != failAt, result.isSuccess());
+    }
+  }
+
+  @Test(timeout = 30_000)
+  public void matchesSequentialExecution() throws InterruptedException {
+    assertSameAsSequential(0, -1, Failure.NONE);
+    assertSameAsSequential(1, -1, Failure.NONE);
+    assertSameAsSequential(1000, -1, Failure.NONE);
+  }
+
+  @Test(timeout = 30_000)
+  public void stopsAtFirstFailure() throws InterruptedException {
+    assertSameAsSequential(100, 10, Failure.VALIDATE);
+    assertSameAsSequential(100, 0, Failure.EXECUTE);
+    assertSameAsSequential(100, 99, Failure.VALIDATE);
+  }
+
+  @Test(timeout = 30_000)
+  public void decodeFailureIsLeftToValidate() throws InterruptedException {
+    List<Integer> state = new ArrayList<>();
+    List<Integer> committed = Collections.synchronizedList(new ArrayList<>());
+    pipeline.run(block(50, 7, Failure.DECODE, state), result -> committed.add(result.getIndex()));
+    Assert.assertEquals(50, state.size());
+    Assert.assertEquals(50, committed.size());
+  }
+
+  @Test(timeout = 30_000)
+  public void runtimeExceptionIsRethrown() throws InterruptedException {
+    List<Integer> state = new ArrayList<>();
+    try {
+      pipeline.run(block(100, 20, Failure.RUNTIME, state), result -> {
+      });
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("broken 20", e.getMessage());
+    }
+    Assert.assertEquals(20, state.size());
+
+    // the pipeline is still usable
+    assertSameAsSequential(100, -1, Failure.NONE);
+  }
+
+  @Test(timeout = 30_000)
+  public void errorIsRethrown() throws InterruptedException {
+    List<Integer> state = new ArrayList<>();
+    try {
+      pipeline.run(block(100, 30, Failure.ERROR, state), result -> {
+      });
+      Assert.fail();
+    } catch (StackOverflowError e) {
+      Assert.assertEquals("deep 30", e.getMessage());
+    }
+    Assert.assertEquals(30, state.size());
+    assertSameAsSequential(100, -1, Failure.NONE);
+  }
+
+  @Test(timeout = 30_000)
+  public void handlerExceptionIsRethrown() throws InterruptedException {
+    List<Integer> state = new ArrayList<>();
+    try {
+      pipeline.run(block(1000, -1, Failure.NONE, state), result -> {
+        if (result.getIndex() == 5) {
+          throw new IllegalStateException("handler");
+        }
+      });
+      Assert.fail();
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("handler", e.getMessage());
+    }
+    Assert.assertTrue(state.size() < 1000);
+  }
+
+  @Test(timeout = 30_000)
+  public void slowStagesPark() throws InterruptedException {
+    // the stages waiting on a 2 ms prefetch and a 2 ms commit spin, yield and then park
+    try (BlockPipeline slow = new BlockPipeline(2, (actuator, ownerAddress) -> sleep())) {
+      List<Integer> state = new ArrayList<>();
+      List<Integer> committed = Collections.synchronizedList(new ArrayList<>());
+      long start = System.nanoTime();
+      slow.run(block(200, -1, Failure.NONE, state), result -> {
+        sleep();
+        committed.add(result.getIndex());
+      });
+      Assert.assertEquals(200, state.size());
+      Assert.assertEquals(runSequentially(block(200, -1, Failure.NONE, new ArrayList<>())),
+          committed);
+      // 200 overlapping 2 ms steps, with room for scheduling noise but not for a lost wakeup
+      Assert.assertTrue(System.nanoTime() - start < 10_000_000_000L);
+    }
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(2);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.tron.core.actuator.pipeline;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpscQueueTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void capacityMustBePowerOfTwo() {
+    new SpscQueue<Integer>(6);
+  }
+
+  @Test
+  public void fullAndEmpty() {
+    SpscQueue<Integer> queue = new SpscQueue<>(4);
+    Assert.assertNull(queue.poll());
+    for (int i = 0; i < 4; i++) {
+      Assert.assertTrue(queue.offer(i));
+    }
+    Assert.assertFalse(queue.offer(4));
+    Assert.assertEquals(Integer.valueOf(0), queue.poll());
+    Assert.assertTrue(queue.offer(4));
+    for (int i = 1; i <= 4; i++) {
+      Assert.assertEquals(Integer.valueOf(i), queue.poll());
+    }
+    Assert.assertNull(queue.poll());
+  }
+
+  @Test
+  public void wrapsAround() {
+    SpscQueue<Integer> queue = new SpscQueue<>(2);
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertTrue(queue.offer(i));
+      Assert.assertEquals(Integer.valueOf(i), queue.poll());
+    }
+  }
+
+  @Test(timeout = 30_000)
+  public void producerAndConsumerThreads() throws InterruptedException {
+    int count = 1_000_000;
+    SpscQueue<Integer> queue = new SpscQueue<>(16);
+    AtomicReference<String> error = new AtomicReference<>();
+    Thread consumer = new Thread(() -> {
+      for (int expected = 0; expected < count; ) {
+        Integer value = queue.poll();
+        if (value == null) {
+          Thread.yield();
+          continue;
+        }
+        if (value != expected) {
+          error.set("expected " + expected + " but got " + value);
+          return;
+        }
+        expected++;
+      }
+    });
+    consumer.start();
+    for (int i = 0; i < count; ) {
+      if (error.get() != null) {
+        break;
+      }
+      if (queue.offer(i)) {
+        i++;
+      } else {
+        Thread.yield();
+      }
+    }
+    consumer.join();
+    Assert.assertNull(error.get());
+    Assert.assertNull(queue.poll());
+  }
+}